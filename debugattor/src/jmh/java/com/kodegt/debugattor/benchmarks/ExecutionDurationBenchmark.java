@@ -0,0 +1,46 @@
+package com.kodegt.debugattor.benchmarks;
+
+import com.kodegt.debugattor.domain.execution.Execution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Execution#duration()} runs once per row of the executions grid, so it is cheap but called a lot. Each
+ * parameter lands in a different branch of the formatting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutionDurationBenchmark {
+
+    @Param({"250", "42000", "754000", "11000000"})
+    long elapsedMillis;
+
+    private Execution execution;
+
+    @Setup
+    public void setUp() {
+        final var startedAt = ExecutionTrees.STARTED_AT;
+        execution = new Execution(null, Execution.Status.COMPLETED, List.of(), startedAt, startedAt.plusNanos(elapsedMillis * 1_000_000));
+    }
+
+    @Benchmark
+    public String duration() {
+        return execution.duration();
+    }
+}
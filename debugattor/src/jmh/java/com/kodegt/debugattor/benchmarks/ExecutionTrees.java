@@ -0,0 +1,72 @@
+package com.kodegt.debugattor.benchmarks;
+
+import com.kodegt.debugattor.domain.artifact.Artifact;
+import com.kodegt.debugattor.domain.execution.Execution;
+import com.kodegt.debugattor.domain.step.Step;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Builds execution trees of a given shape. Content is random printable text, seeded so every fork sees the same
+ * tree, and mixes the artifact types the dashboard renders differently.
+ */
+final class ExecutionTrees {
+
+    static final OffsetDateTime STARTED_AT = OffsetDateTime.of(2025, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private static final Artifact.Type[] TYPES = {Artifact.Type.LOG, Artifact.Type.JSON_DATA, Artifact.Type.LOG, Artifact.Type.IMAGE};
+
+    private ExecutionTrees() {
+    }
+
+    static Execution execution(int steps, int artifactsPerStep, int contentSize) {
+        final var random = new Random(42);
+        final var list = new ArrayList<Step>(steps);
+        for (int s = 0; s < steps; s++) {
+            list.add(step(random, s, artifactsPerStep, contentSize));
+        }
+        return new Execution(uuid(random), Execution.Status.COMPLETED, list, STARTED_AT, STARTED_AT.plusMinutes(steps));
+    }
+
+    private static Step step(Random random, int index, int artifactsPerStep, int contentSize) {
+        final var registeredAt = STARTED_AT.plusMinutes(index);
+        final var artifacts = new ArrayList<Artifact>(artifactsPerStep);
+        for (int a = 0; a < artifactsPerStep; a++) {
+            artifacts.add(artifact(random, a, registeredAt.plusSeconds(a), contentSize));
+        }
+        return Step.load(uuid(random), "step-" + index, Step.Status.COMPLETED.name(), artifacts, registeredAt, registeredAt.plusSeconds(59));
+    }
+
+    private static Artifact artifact(Random random, int index, OffsetDateTime loggedAt, int contentSize) {
+        final var type = TYPES[index % TYPES.length];
+        final var id = uuid(random);
+        if (type == Artifact.Type.IMAGE) {
+            final var url = "http://localhost:9000/debugattor/" + id + ".png";
+            return Artifact.newArtifact(id, type.name(), "screenshot " + index, url, loggedAt, url + "?thumb", url + "?preview", null, null);
+        }
+        final var content = text(random, contentSize);
+        return Artifact.newArtifact(id, type.name(), "artifact " + index, content, loggedAt, null, null, null, null);
+    }
+
+    private static UUID uuid(Random random) {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    static String text(Random random, int length) {
+        final var chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            // every 80th char breaks the line, like a real log
+            chars[i] = i % 80 == 79 ? '\n' : (char) (' ' + random.nextInt(95));
+        }
+        return new String(chars);
+    }
+
+    static List<Artifact> artifacts(Execution execution) {
+        return execution.steps().stream().flatMap(step -> step.artifacts().stream()).toList();
+    }
+}
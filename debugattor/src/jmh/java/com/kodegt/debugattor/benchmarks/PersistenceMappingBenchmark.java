@@ -0,0 +1,113 @@
+package com.kodegt.debugattor.benchmarks;
+
+import com.kodegt.debugattor.domain.artifact.Artifact;
+import com.kodegt.debugattor.domain.step.Step;
+import org.jooq.DSLContext;
+import org.jooq.Record5;
+import org.jooq.Record9;
+import org.jooq.Records;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.jooq.generated.Tables.ARTIFACTS;
+import static org.jooq.generated.Tables.STEPS;
+
+/**
+ * The record to domain mapping behind {@code JOOQRepository.findById}. On Postgres the nested MULTISETs arrive as
+ * JSON, so {@link #decodeAndMap} parses the same payload shape before mapping, while {@link #map} starts from
+ * records already in memory and isolates the {@code Records.mapping} cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceMappingBenchmark {
+
+    @Param({"10", "100"})
+    int steps;
+
+    @Param({"10", "50"})
+    int artifacts;
+
+    @Param({"256", "16384"})
+    int contentSize;
+
+    private DSLContext dsl;
+    private Result<Record5<UUID, String, String, OffsetDateTime, OffsetDateTime>> stepRows;
+    private List<Result<Record9<UUID, String, String, String, OffsetDateTime, String, String, String, Long>>> artifactRows;
+    private List<String> artifactJson;
+
+    @Setup
+    public void setUp() {
+        dsl = DSL.using(SQLDialect.POSTGRES);
+        final var execution = ExecutionTrees.execution(steps, artifacts, contentSize);
+
+        stepRows = dsl.newResult(STEPS.ID, STEPS.NAME, STEPS.STATUS, STEPS.REGISTERED_AT, STEPS.COMPLETED_AT);
+        artifactRows = new ArrayList<>(steps);
+        artifactJson = new ArrayList<>(steps);
+        for (Step step : execution.steps()) {
+            final var stepRow = dsl.newRecord(STEPS.ID, STEPS.NAME, STEPS.STATUS, STEPS.REGISTERED_AT, STEPS.COMPLETED_AT);
+            stepRow.values(step.id(), step.name(), step.status().name(),
+                    step.registeredAt().atOffset(ExecutionTrees.STARTED_AT.getOffset()),
+                    step.completedAt().atOffset(ExecutionTrees.STARTED_AT.getOffset()));
+            stepRows.add(stepRow);
+
+            final var rows = dsl.newResult(ARTIFACTS.ID, ARTIFACTS.TYPE, ARTIFACTS.DESCRIPTION, ARTIFACTS.CONTENT, ARTIFACTS.LOGGED_AT,
+                    ARTIFACTS.THUMBNAIL_URL, ARTIFACTS.PREVIEW_URL, ARTIFACTS.CONTENT_REF, ARTIFACTS.CONTENT_SIZE);
+            for (Artifact artifact : step.artifacts()) {
+                final var row = dsl.newRecord(ARTIFACTS.ID, ARTIFACTS.TYPE, ARTIFACTS.DESCRIPTION, ARTIFACTS.CONTENT, ARTIFACTS.LOGGED_AT,
+                        ARTIFACTS.THUMBNAIL_URL, ARTIFACTS.PREVIEW_URL, ARTIFACTS.CONTENT_REF, ARTIFACTS.CONTENT_SIZE);
+                row.values(artifact.id(), artifact.type().name(), artifact.description(), artifact.content(), artifact.loggedAt(),
+                        artifact.thumbnailUrl(), artifact.previewUrl(), artifact.contentRef(), artifact.contentSize());
+                rows.add(row);
+            }
+            artifactRows.add(rows);
+            artifactJson.add(rows.formatJSON());
+        }
+    }
+
+    @Benchmark
+    public List<Step> map() {
+        final var mapped = new ArrayList<Step>(stepRows.size());
+        for (int i = 0; i < stepRows.size(); i++) {
+            final var row = stepRows.get(i);
+            final var stepArtifacts = artifactRows.get(i).map(Records.mapping(Artifact::newArtifact));
+            mapped.add(Step.load(row.value1(), row.value2(), row.value3(), stepArtifacts, row.value4(), row.value5()));
+        }
+        return mapped;
+    }
+
+    @Benchmark
+    public List<Step> decodeAndMap() {
+        final var mapped = new ArrayList<Step>(stepRows.size());
+        for (int i = 0; i < stepRows.size(); i++) {
+            final var row = stepRows.get(i);
+            final var stepArtifacts = dsl.fetchFromJSON(artifactJson.get(i))
+                    .into(ARTIFACTS.ID, ARTIFACTS.TYPE, ARTIFACTS.DESCRIPTION, ARTIFACTS.CONTENT, ARTIFACTS.LOGGED_AT,
+                            ARTIFACTS.THUMBNAIL_URL, ARTIFACTS.PREVIEW_URL, ARTIFACTS.CONTENT_REF, ARTIFACTS.CONTENT_SIZE)
+                    .map(Records.mapping(Artifact::newArtifact));
+            mapped.add(Step.load(row.value1(), row.value2(), row.value3(), stepArtifacts, row.value4(), row.value5()));
+        }
+        return mapped;
+    }
+}
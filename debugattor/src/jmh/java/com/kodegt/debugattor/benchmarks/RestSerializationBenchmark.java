@@ -0,0 +1,73 @@
+package com.kodegt.debugattor.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kodegt.debugattor.domain.execution.Execution;
+import com.kodegt.debugattor.infrastructure.primary.dto.ExecutionResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What {@code GET /api/executions/{id}} does after the tree is loaded: DTO conversion, then Jackson writing the
+ * body. The output is discarded, so only the encoding is measured, not buffering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RestSerializationBenchmark {
+
+    @Param({"10", "100"})
+    int steps;
+
+    @Param({"10", "50"})
+    int artifacts;
+
+    @Param({"256", "16384"})
+    int contentSize;
+
+    private Execution execution;
+    private ExecutionResponse response;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        execution = ExecutionTrees.execution(steps, artifacts, contentSize);
+        response = ExecutionResponse.from(execution);
+        // same defaults Spring Boot applies, with the time zone from application.yaml
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .timeZone(TimeZone.getTimeZone("America/Sao_Paulo"))
+                .build();
+    }
+
+    @Benchmark
+    public ExecutionResponse toResponse() {
+        return ExecutionResponse.from(execution);
+    }
+
+    @Benchmark
+    public void serialize() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), response);
+    }
+
+    @Benchmark
+    public void toResponseAndSerialize() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), ExecutionResponse.from(execution));
+    }
+}
@@ -0,0 +1,8 @@
+package com.kodegt.debugattor.application.input;
+
+import java.util.UUID;
+
+public interface AppendArtifactUseCase {
+
+    void append(UUID stepId, UUID artifactId, String text);
+}
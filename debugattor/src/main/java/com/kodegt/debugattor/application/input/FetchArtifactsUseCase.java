@@ -0,0 +1,12 @@
+package com.kodegt.debugattor.application.input;
+
+import com.kodegt.debugattor.domain.artifact.Artifact;
+import com.kodegt.debugattor.domain.pagination.Cursor;
+import com.kodegt.debugattor.domain.pagination.CursorPage;
+
+import java.util.UUID;
+
+public interface FetchArtifactsUseCase {
+
+    CursorPage<Artifact> fetch(UUID stepId, Cursor after, int limit);
+}
@@ -1,9 +1,14 @@
 package com.kodegt.debugattor.application.input;
 
 import com.kodegt.debugattor.domain.execution.Execution;
+import com.kodegt.debugattor.domain.execution.ExecutionSummary;
+import com.kodegt.debugattor.domain.pagination.Cursor;
+import com.kodegt.debugattor.domain.pagination.CursorPage;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 public interface FetchExecutionsUseCase {
 
@@ -12,4 +17,17 @@ public interface FetchExecutionsUseCase {
     List<Execution> fetch(Pageable pageable);
 
     List<Execution> fetch(String id, Pageable pageable);
+
+    CursorPage<Execution> fetch(Cursor after, int limit);
+
+    /**
+     * Changes whenever the page {@link #fetch(Cursor, int)} would return changes, without loading it.
+     */
+    String fetchVersion(Cursor after, int limit);
+
+    List<ExecutionSummary> fetchSummaries(String id, Pageable pageable);
+
+    CursorPage<ExecutionSummary> fetchSummaries(String id, Cursor after, int limit);
+
+    Optional<ExecutionSummary> fetchSummary(UUID id);
 }
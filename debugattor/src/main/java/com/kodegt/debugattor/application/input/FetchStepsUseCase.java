@@ -0,0 +1,12 @@
+package com.kodegt.debugattor.application.input;
+
+import com.kodegt.debugattor.domain.pagination.Cursor;
+import com.kodegt.debugattor.domain.pagination.CursorPage;
+import com.kodegt.debugattor.domain.step.Step;
+
+import java.util.UUID;
+
+public interface FetchStepsUseCase {
+
+    CursorPage<Step> fetch(UUID executionId, Cursor after, int limit);
+}
@@ -8,4 +8,6 @@ import java.util.UUID;
 public interface GetExecutionByIdUseCase {
 
     Optional<Execution> execute(UUID id);
+
+    Optional<Long> version(UUID id);
 }
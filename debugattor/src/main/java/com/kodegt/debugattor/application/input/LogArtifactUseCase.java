@@ -4,11 +4,14 @@ import com.kodegt.debugattor.domain.artifact.Artifact;
 import com.kodegt.debugattor.domain.artifact.FileMetadata;
 
 import java.io.InputStream;
+import java.util.List;
 import java.util.UUID;
 
 public interface LogArtifactUseCase {
 
     Artifact log(UUID stepId, Artifact.Type type, String description, String content);
 
+    List<Artifact> logAll(UUID stepId, List<Artifact> artifacts);
+
     Artifact logFile(UUID stepId, Artifact.Type type, String description, InputStream file, FileMetadata metadata);
 }
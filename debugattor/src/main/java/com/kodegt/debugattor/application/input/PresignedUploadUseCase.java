@@ -0,0 +1,13 @@
+package com.kodegt.debugattor.application.input;
+
+import com.kodegt.debugattor.domain.artifact.Artifact;
+import com.kodegt.debugattor.domain.artifact.PendingUpload;
+
+import java.util.UUID;
+
+public interface PresignedUploadUseCase {
+
+    PendingUpload requestUpload(UUID stepId, Artifact.Type type, String description);
+
+    Artifact finalizeUpload(UUID stepId, UUID artifactId);
+}
@@ -0,0 +1,15 @@
+package com.kodegt.debugattor.application.input;
+
+import com.kodegt.debugattor.domain.artifact.ArtifactContent;
+import com.kodegt.debugattor.domain.artifact.ContentSlice;
+
+import java.util.UUID;
+
+public interface ReadArtifactContentUseCase {
+
+    ArtifactContent read(UUID stepId, UUID artifactId);
+
+    ContentSlice readRange(UUID stepId, UUID artifactId, long offset, int length);
+
+    ContentSlice readTail(UUID stepId, UUID artifactId, int lines);
+}
@@ -0,0 +1,94 @@
+package com.kodegt.debugattor.application.usecases;
+
+import com.kodegt.debugattor.domain.artifact.Artifact;
+import com.kodegt.debugattor.domain.storage.BucketStorageOutputPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves LOG and JSON_DATA bodies above a size threshold to bucket storage as gzip, leaving only a short
+ * preview inline so list and detail queries never drag multi-megabyte rows along. The object is written before
+ * its artifact row, so callers hand the artifacts back to {@link #discard} when the row could not be inserted.
+ */
+@Slf4j
+@Component
+public class ContentOffloader {
+
+    private final BucketStorageOutputPort bucketStorageOutputPort;
+    private final long threshold;
+    private final int previewLength;
+
+    public ContentOffloader(BucketStorageOutputPort bucketStorageOutputPort,
+                            @Value("${artifacts.offload.threshold:256KB}") DataSize threshold,
+                            @Value("${artifacts.preview-length:2000}") int previewLength) {
+        this.bucketStorageOutputPort = bucketStorageOutputPort;
+        this.threshold = threshold.toBytes();
+        this.previewLength = previewLength;
+    }
+
+    public Artifact offload(Artifact artifact) {
+        final var content = artifact.content();
+        // a UTF-16 char never takes more than 3 bytes in UTF-8, so short strings are not worth encoding to measure
+        if (artifact.type() == Artifact.Type.IMAGE || content == null || content.length() * 3L <= threshold) {
+            return artifact;
+        }
+        final var bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= threshold) {
+            return artifact;
+        }
+
+        final var objectName = "content-" + UUID.randomUUID() + ".gz";
+        final var compressed = gzip(bytes);
+        bucketStorageOutputPort.storeFile(new ByteArrayInputStream(compressed), objectName, "application/gzip", compressed.length);
+        return artifact.offloaded(Artifact.preview(content, previewLength), objectName, content.length());
+    }
+
+    public void discard(List<Artifact> artifacts) {
+        final var refs = artifacts.stream().map(Artifact::contentRef).filter(Objects::nonNull).toList();
+        if (refs.isEmpty()) {
+            return;
+        }
+        try {
+            final var failed = bucketStorageOutputPort.deleteFiles(refs);
+            if (!failed.isEmpty()) {
+                log.warn("Could not remove offloaded content {}", failed);
+            }
+        } catch (Exception e) {
+            log.warn("Could not remove offloaded content {}", refs, e);
+        }
+    }
+
+    public InputStream open(String contentRef) {
+        final var stored = bucketStorageOutputPort.getFile(contentRef)
+                .orElseThrow(() -> new IllegalStateException("Offloaded content is missing: " + contentRef));
+        try {
+            return new GZIPInputStream(stored, 64 * 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        final var out = new ByteArrayOutputStream(bytes.length / 4);
+        try (var gzip = new GZIPOutputStream(out, 64 * 1024)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,34 @@
+package com.kodegt.debugattor.application.usecases;
+
+import com.kodegt.debugattor.application.input.AppendArtifactUseCase;
+import com.kodegt.debugattor.domain.artifact.ArtifactChunkRepository;
+import com.kodegt.debugattor.domain.artifact.ArtifactNotFoundException;
+import com.kodegt.debugattor.domain.events.ArtifactAppendedEvent;
+import com.kodegt.debugattor.domain.events.EventPublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class DefaultAppendArtifactUseCase implements AppendArtifactUseCase {
+
+    private final ArtifactChunkRepository chunkRepository;
+    private final EventPublisher eventPublisher;
+
+    @Value("${artifacts.preview-length:2000}")
+    private int previewLength;
+
+    @Override
+    public void append(UUID stepId, UUID artifactId, String text) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        if (!chunkRepository.append(stepId, artifactId, text, previewLength)) {
+            throw new ArtifactNotFoundException(artifactId);
+        }
+        eventPublisher.publish(new ArtifactAppendedEvent(stepId, artifactId, text));
+    }
+}
@@ -12,9 +12,11 @@ import java.util.UUID;
 public class DefaultCompleteExecutionUseCase implements CompleteExecutionUseCase {
 
     private final ExecutionRepository repository;
+    private final FinishedExecutionCache cache;
 
     @Override
     public void execute(UUID id) {
         repository.complete(id);
+        cache.invalidate(id);
     }
 }
@@ -12,9 +12,11 @@ import java.util.UUID;
 public class DefaultCompleteStepUseCase implements CompleteStepUseCase {
 
     private final StepRepository repository;
+    private final FinishedExecutionCache cache;
 
     @Override
     public void execute(UUID stepId) {
         repository.setCompleted(stepId);
+        cache.invalidateStep(stepId);
     }
 }
@@ -1,9 +1,7 @@
 package com.kodegt.debugattor.application.usecases;
 
 import com.kodegt.debugattor.application.input.DeleteExecutionUseCase;
-import com.kodegt.debugattor.domain.artifact.ArtifactRepository;
 import com.kodegt.debugattor.domain.execution.ExecutionRepository;
-import com.kodegt.debugattor.domain.storage.BucketStorageOutputPort;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -14,20 +12,12 @@ import java.util.UUID;
 public class DefaultDeleteExecutionUseCase implements DeleteExecutionUseCase {
 
     private final ExecutionRepository executionRepository;
-    private final ArtifactRepository artifactRepository;
-    private final BucketStorageOutputPort bucketStorage;
+    private final FinishedExecutionCache cache;
 
     @Override
     public void delete(UUID executionId) {
-        var imageUrls = artifactRepository.findImagesByExecutionId(executionId);
-        for (final var url : imageUrls) {
-            int lastSlash = url.lastIndexOf('/');
-            if (lastSlash != -1) {
-                final var objectName = url.substring(lastSlash + 1);
-                bucketStorage.deleteFile(objectName);
-            }
-        }
-
+        // stored files are queued for removal by the repository and cleaned up in the background
         executionRepository.deleteById(executionId);
+        cache.invalidate(executionId);
     }
 }
@@ -12,9 +12,11 @@ import java.util.UUID;
 public class DefaultFailExecutionUseCase implements FailExecutionUseCase {
 
     private final ExecutionRepository repository;
+    private final FinishedExecutionCache cache;
 
     @Override
     public void execute(UUID id) {
         repository.fail(id);
+        cache.invalidate(id);
     }
 }
@@ -12,9 +12,11 @@ import java.util.UUID;
 public class DefaultFailStepUseCase implements FailStepUseCase {
 
     private final StepRepository repository;
+    private final FinishedExecutionCache cache;
 
     @Override
     public void execute(UUID stepId) {
         repository.setFailed(stepId);
+        cache.invalidateStep(stepId);
     }
 }
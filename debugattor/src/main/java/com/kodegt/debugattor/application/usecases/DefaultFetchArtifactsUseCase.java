@@ -0,0 +1,25 @@
+package com.kodegt.debugattor.application.usecases;
+
+import com.kodegt.debugattor.application.input.FetchArtifactsUseCase;
+import com.kodegt.debugattor.domain.artifact.Artifact;
+import com.kodegt.debugattor.domain.artifact.ArtifactRepository;
+import com.kodegt.debugattor.domain.pagination.Cursor;
+import com.kodegt.debugattor.domain.pagination.CursorPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class DefaultFetchArtifactsUseCase implements FetchArtifactsUseCase {
+
+    private static final int MAX_LIMIT = 200;
+
+    private final ArtifactRepository repository;
+
+    @Override
+    public CursorPage<Artifact> fetch(UUID stepId, Cursor after, int limit) {
+        return repository.findByStepId(stepId, after, Math.clamp(limit, 1, MAX_LIMIT));
+    }
+}
@@ -3,16 +3,28 @@ package com.kodegt.debugattor.application.usecases;
 import com.kodegt.debugattor.application.input.FetchExecutionsUseCase;
 import com.kodegt.debugattor.domain.execution.Execution;
 import com.kodegt.debugattor.domain.execution.ExecutionRepository;
+import com.kodegt.debugattor.domain.execution.ExecutionSummary;
+import com.kodegt.debugattor.domain.execution.ExecutionVersion;
+import com.kodegt.debugattor.domain.pagination.Cursor;
+import com.kodegt.debugattor.domain.pagination.CursorPage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class DefaultFetchExecutionsUseCase implements FetchExecutionsUseCase {
 
+    private static final int MAX_LIMIT = 200;
+
     private final ExecutionRepository repository;
 
     @Override
@@ -29,4 +41,44 @@ public class DefaultFetchExecutionsUseCase implements FetchExecutionsUseCase {
     public List<Execution> fetch(String id, Pageable pageable) {
         return repository.findAll(id, pageable);
     }
+
+    @Override
+    public CursorPage<Execution> fetch(Cursor after, int limit) {
+        return repository.findAll(after, Math.clamp(limit, 1, MAX_LIMIT));
+    }
+
+    @Override
+    public String fetchVersion(Cursor after, int limit) {
+        final var clamped = Math.clamp(limit, 1, MAX_LIMIT);
+        // the extra row decides the next cursor, so it is part of the page too
+        final var digest = sha256();
+        digest.update((clamped + "\n").getBytes(StandardCharsets.UTF_8));
+        for (ExecutionVersion version : repository.findVersions(after, clamped)) {
+            digest.update((version.id() + ":" + version.version() + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+
+    @Override
+    public List<ExecutionSummary> fetchSummaries(String id, Pageable pageable) {
+        return repository.findSummaries(id, pageable);
+    }
+
+    @Override
+    public CursorPage<ExecutionSummary> fetchSummaries(String id, Cursor after, int limit) {
+        return repository.findSummaries(id, after, Math.clamp(limit, 1, MAX_LIMIT));
+    }
+
+    @Override
+    public Optional<ExecutionSummary> fetchSummary(UUID id) {
+        return repository.findSummaryById(id);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
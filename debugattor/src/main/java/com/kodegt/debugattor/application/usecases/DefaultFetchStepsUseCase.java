@@ -0,0 +1,25 @@
+package com.kodegt.debugattor.application.usecases;
+
+import com.kodegt.debugattor.application.input.FetchStepsUseCase;
+import com.kodegt.debugattor.domain.pagination.Cursor;
+import com.kodegt.debugattor.domain.pagination.CursorPage;
+import com.kodegt.debugattor.domain.step.Step;
+import com.kodegt.debugattor.domain.step.StepRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class DefaultFetchStepsUseCase implements FetchStepsUseCase {
+
+    private static final int MAX_LIMIT = 200;
+
+    private final StepRepository repository;
+
+    @Override
+    public CursorPage<Step> fetch(UUID executionId, Cursor after, int limit) {
+        return repository.findByExecutionId(executionId, after, Math.clamp(limit, 1, MAX_LIMIT));
+    }
+}
@@ -14,9 +14,17 @@ import java.util.UUID;
 public class DefaultGetExecutionByIdUseCase implements GetExecutionByIdUseCase {
 
     private final ExecutionRepository repository;
+    private final FinishedExecutionCache cache;
 
     @Override
     public Optional<Execution> execute(UUID id) {
-        return repository.findById(id);
+        // read first, so the tree loaded below is never older than the version the cache is checked against
+        return repository.findVersion(id)
+                .flatMap(version -> cache.get(id, version, repository::findById));
+    }
+
+    @Override
+    public Optional<Long> version(UUID id) {
+        return repository.findVersion(id);
     }
 }
@@ -6,33 +6,80 @@ import com.kodegt.debugattor.domain.artifact.ArtifactRepository;
 import com.kodegt.debugattor.domain.artifact.FileMetadata;
 import com.kodegt.debugattor.domain.events.ArtifactLoggedEvent;
 import com.kodegt.debugattor.domain.events.EventPublisher;
+import com.kodegt.debugattor.domain.storage.Blob;
+import com.kodegt.debugattor.domain.storage.BlobRepository;
 import com.kodegt.debugattor.domain.storage.BucketStorageOutputPort;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 @Component
 @RequiredArgsConstructor
 public class DefaultLogArtifactUseCase implements LogArtifactUseCase {
 
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
     private final ArtifactRepository artifactRepository;
     private final BucketStorageOutputPort bucketStorageOutputPort;
     private final EventPublisher eventPublisher;
+    private final ThumbnailPipeline thumbnailPipeline;
+    private final BlobRepository blobRepository;
+    private final ContentOffloader contentOffloader;
+
+    @Value("${artifacts.upload.trust-announced-digest:false}")
+    private boolean trustAnnouncedDigest;
 
     @Override
     public Artifact log(UUID stepId, Artifact.Type type, String description, String content) {
-        Artifact artifact = artifactRepository.log(stepId, type, description, content);
+        final var offloaded = contentOffloader.offload(Artifact.draft(type, description, content));
+        final Artifact artifact;
+        try {
+            artifact = artifactRepository.log(stepId, offloaded);
+        } catch (RuntimeException e) {
+            contentOffloader.discard(List.of(offloaded));
+            throw e;
+        }
         eventPublisher.publish(new ArtifactLoggedEvent(stepId, artifact.id(), artifact.type().name(), artifact.description(), artifact.content(), artifact.content()));
         return artifact;
     }
 
+    @Override
+    public List<Artifact> logAll(UUID stepId, List<Artifact> artifacts) {
+        if (artifacts.isEmpty()) {
+            return List.of();
+        }
+        final var offloaded = artifacts.stream().map(contentOffloader::offload).toList();
+        final List<Artifact> logged;
+        try {
+            logged = artifactRepository.logAll(stepId, offloaded);
+        } catch (RuntimeException e) {
+            contentOffloader.discard(offloaded);
+            throw e;
+        }
+        for (Artifact artifact : logged) {
+            eventPublisher.publish(new ArtifactLoggedEvent(stepId, artifact.id(), artifact.type().name(), artifact.description(), artifact.content(), artifact.content()));
+        }
+        return logged;
+    }
+
     @Override
     public Artifact logFile(UUID stepId, Artifact.Type type, String description, InputStream file, FileMetadata metadata) {
         var artifact = artifactRepository.createWithoutUrl(stepId, type, description);
-        final var url = bucketStorageOutputPort.storeFile(file, artifact.id().toString(), metadata.contentType(), metadata.size());
-        artifactRepository.updateContent(artifact.id(), url);
+        final var blob = storeBlob(artifact.id(), file, metadata);
+        final var url = bucketStorageOutputPort.publicUrl(blob.objectName());
+        if (artifact.type() == Artifact.Type.IMAGE) {
+            thumbnailPipeline.submit(artifact.id(), blob.objectName());
+        }
         Artifact completedArtifact = new Artifact(
                 artifact.id(),
                 artifact.type(),
@@ -43,4 +90,59 @@ public class DefaultLogArtifactUseCase implements LogArtifactUseCase {
         eventPublisher.publish(new ArtifactLoggedEvent(stepId, completedArtifact.id(), completedArtifact.type().name(), completedArtifact.description(), completedArtifact.content(), completedArtifact.content()));
         return completedArtifact;
     }
+
+    /**
+     * Stores the file under the SHA-256 of its bytes and attaches it to the artifact. The body is hashed while it
+     * streams to a staging object, which is copied to its content address only if no other artifact has those bytes
+     * yet.
+     * <p>
+     * With {@code artifacts.upload.trust-announced-digest} enabled, a digest announced by the client that is already
+     * stored skips the upload. It is taken on trust: a client that knows the digest of a stored file can attach it
+     * without having the bytes, so it is off unless the deployment opts in.
+     */
+    private Blob storeBlob(UUID artifactId, InputStream file, FileMetadata metadata) {
+        final var announced = metadata.sha256() == null ? null : metadata.sha256().toLowerCase(Locale.ROOT);
+        Blob missing = null;
+        if (trustAnnouncedDigest && announced != null && SHA256_HEX.matcher(announced).matches()) {
+            final var existing = blobRepository.findByDigest(announced);
+            if (existing.isPresent()) {
+                final var created = blobRepository.attach(artifactId, existing.get(), bucketStorageOutputPort.publicUrl(existing.get().objectName()));
+                if (!created || bucketStorageOutputPort.fileExists(existing.get().objectName())) {
+                    return existing.get();
+                }
+                // the last reference went away and its object was removed before the attach; upload the body after all
+                missing = existing.get();
+            }
+        }
+
+        final var sha256 = newSha256();
+        final var staging = "staging-" + artifactId;
+        try {
+            bucketStorageOutputPort.storeFile(new DigestInputStream(file, sha256), staging, metadata.contentType(), metadata.size());
+            final var blob = Blob.ofDigest(HexFormat.of().formatHex(sha256.digest()));
+
+            // copied before the row exists, so nobody finds the blob without its object
+            if (blob.equals(missing) || blobRepository.findByDigest(blob.digest()).isEmpty()) {
+                bucketStorageOutputPort.copyFile(staging, blob.objectName());
+            }
+            // The blob can disappear between the lookup and the attach when its last reference is deleted, and the
+            // cleanup drain can remove the copy just made. Attach waits for such a removal, so checking afterwards
+            // is enough.
+            if (blobRepository.attach(artifactId, blob, bucketStorageOutputPort.publicUrl(blob.objectName()))
+                    && !bucketStorageOutputPort.fileExists(blob.objectName())) {
+                bucketStorageOutputPort.copyFile(staging, blob.objectName());
+            }
+            return blob;
+        } finally {
+            bucketStorageOutputPort.deleteFile(staging);
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
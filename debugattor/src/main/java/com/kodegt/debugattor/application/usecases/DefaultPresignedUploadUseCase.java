@@ -0,0 +1,75 @@
+package com.kodegt.debugattor.application.usecases;
+
+import com.kodegt.debugattor.application.input.PresignedUploadUseCase;
+import com.kodegt.debugattor.domain.artifact.Artifact;
+import com.kodegt.debugattor.domain.artifact.ArtifactNotFoundException;
+import com.kodegt.debugattor.domain.artifact.ArtifactNotUploadedException;
+import com.kodegt.debugattor.domain.artifact.ArtifactRepository;
+import com.kodegt.debugattor.domain.artifact.PendingUpload;
+import com.kodegt.debugattor.domain.events.ArtifactLoggedEvent;
+import com.kodegt.debugattor.domain.events.EventPublisher;
+import com.kodegt.debugattor.domain.storage.BucketStorageOutputPort;
+import com.kodegt.debugattor.domain.storage.UploadUrlUnsupportedException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Lets clients PUT files straight to the bucket: the artifact row is created first, the client uploads
+ * to a presigned URL and then finalizes, at which point the artifact gets its URL and is announced.
+ */
+@Component
+@RequiredArgsConstructor
+public class DefaultPresignedUploadUseCase implements PresignedUploadUseCase {
+
+    private final ArtifactRepository artifactRepository;
+    private final BucketStorageOutputPort bucketStorageOutputPort;
+    private final EventPublisher eventPublisher;
+    private final ThumbnailPipeline thumbnailPipeline;
+
+    @Value("${artifacts.upload-url.expiry:15m}")
+    private Duration expiry;
+
+    @Override
+    public PendingUpload requestUpload(UUID stepId, Artifact.Type type, String description) {
+        if (!bucketStorageOutputPort.supportsUploadUrls()) {
+            throw new UploadUrlUnsupportedException();
+        }
+        var artifact = artifactRepository.createWithoutUrl(stepId, type, description);
+        var expiresAt = OffsetDateTime.now().plus(expiry);
+        var uploadUrl = bucketStorageOutputPort.createUploadUrl(artifact.id().toString(), expiry);
+        return new PendingUpload(artifact, uploadUrl, expiresAt);
+    }
+
+    @Override
+    public Artifact finalizeUpload(UUID stepId, UUID artifactId) {
+        var artifact = artifactRepository.findById(stepId, artifactId)
+                .orElseThrow(() -> new ArtifactNotFoundException(artifactId));
+        if (!artifact.content().isEmpty()) {
+            return artifact;
+        }
+
+        final var objectName = artifactId.toString();
+        if (!bucketStorageOutputPort.fileExists(objectName)) {
+            throw new ArtifactNotUploadedException(artifactId);
+        }
+        final var url = bucketStorageOutputPort.publicUrl(objectName);
+        artifactRepository.updateContent(artifactId, url);
+        if (artifact.type() == Artifact.Type.IMAGE) {
+            thumbnailPipeline.submit(artifact.id(), objectName);
+        }
+        Artifact completedArtifact = new Artifact(
+                artifact.id(),
+                artifact.type(),
+                artifact.description(),
+                url,
+                artifact.loggedAt()
+        );
+        eventPublisher.publish(new ArtifactLoggedEvent(stepId, completedArtifact.id(), completedArtifact.type().name(), completedArtifact.description(), completedArtifact.content(), completedArtifact.content()));
+        return completedArtifact;
+    }
+}
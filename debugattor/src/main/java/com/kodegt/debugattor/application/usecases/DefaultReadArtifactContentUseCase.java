@@ -0,0 +1,258 @@
+package com.kodegt.debugattor.application.usecases;
+
+import com.kodegt.debugattor.application.input.ReadArtifactContentUseCase;
+import com.kodegt.debugattor.domain.artifact.Artifact;
+import com.kodegt.debugattor.domain.artifact.ArtifactChunkRepository;
+import com.kodegt.debugattor.domain.artifact.ArtifactContent;
+import com.kodegt.debugattor.domain.artifact.ArtifactNotFoundException;
+import com.kodegt.debugattor.domain.artifact.ArtifactRepository;
+import com.kodegt.debugattor.domain.artifact.ContentSlice;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class DefaultReadArtifactContentUseCase implements ReadArtifactContentUseCase {
+
+    private static final int MAX_RANGE_LENGTH = 256 * 1024;
+    private static final int MAX_TAIL_LINES = 10_000;
+
+    private final ArtifactRepository artifactRepository;
+    private final ContentOffloader contentOffloader;
+    private final ArtifactChunkRepository chunkRepository;
+
+    @Override
+    public ArtifactContent read(UUID stepId, UUID artifactId) {
+        var artifact = find(stepId, artifactId);
+        if (artifact.isTruncated()) {
+            // contentSize counts characters and appends can grow it while the body streams
+            return new ArtifactContent(artifact.type(), null, openFullContent(artifact));
+        }
+        final var bytes = artifact.content().getBytes(StandardCharsets.UTF_8);
+        return new ArtifactContent(artifact.type(), (long) bytes.length, new ByteArrayInputStream(bytes));
+    }
+
+    @Override
+    public ContentSlice readRange(UUID stepId, UUID artifactId, long offset, int length) {
+        var artifact = find(stepId, artifactId);
+        final var inline = artifact.content();
+        final var start = Math.max(0, offset);
+        final var limit = Math.clamp(length, 1, MAX_RANGE_LENGTH);
+
+        // Whole texts and windows inside the preview are answered from the row without decoding anything
+        if (!artifact.isTruncated() || start + limit < inline.length()) {
+            final int from = (int) Math.min(start, inline.length());
+            final int to = Math.min(from + limit, inline.length());
+            return new ContentSlice(inline.substring(from, to), from, to < inline.length() || artifact.isTruncated());
+        }
+
+        // Past the logged body, appended text is read from the chunks that hold it
+        final var chunksStart = findChunksStart(artifact);
+        if (chunksStart.isPresent() && start >= chunksStart.get()) {
+            try (var reader = new InputStreamReader(chunkRepository.openChunks(artifact.id(), start - chunksStart.get()), StandardCharsets.UTF_8)) {
+                return window(reader, start, limit);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        try (var reader = openReader(artifact)) {
+            return window(reader, reader.skip(start), limit);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public ContentSlice readTail(UUID stepId, UUID artifactId, int lines) {
+        var artifact = find(stepId, artifactId);
+        final var count = Math.clamp(lines, 1, MAX_TAIL_LINES);
+
+        // A tail that fits in the appended chunks is read from the last of them alone. One extra line break
+        // covers a \r\n split between two chunks.
+        final var chunksStart = findChunksStart(artifact);
+        if (chunksStart.isPresent()) {
+            final var last = chunkRepository.readLastChunks(artifact.id(), count + 1, MAX_RANGE_LENGTH);
+            if (last.hasMore()) {
+                try {
+                    final var tail = new Tail(count, MAX_RANGE_LENGTH).read(new StringReader(last.text()));
+                    final var offset = chunksStart.get() + last.offset() + tail.offset();
+                    return new ContentSlice(tail.text(), offset, offset > 0);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        try (var reader = openReader(artifact)) {
+            return new Tail(count, MAX_RANGE_LENGTH).read(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // up to limit chars from where the reader stands, which is offset within the text
+    private static ContentSlice window(Reader reader, long offset, int limit) throws IOException {
+        // one extra char tells whether more text follows
+        final var buffer = new char[limit + 1];
+        int read = 0;
+        int n;
+        while (read < buffer.length && (n = reader.read(buffer, read, buffer.length - read)) > 0) {
+            read += n;
+        }
+        return new ContentSlice(new String(buffer, 0, Math.min(read, limit)), offset, read > limit);
+    }
+
+    // only LOG artifacts take appends, and only truncated ones have them in chunks
+    private Optional<Long> findChunksStart(Artifact artifact) {
+        if (artifact.type() != Artifact.Type.LOG || !artifact.isTruncated()) {
+            return Optional.empty();
+        }
+        return chunkRepository.findChunksStart(artifact.id());
+    }
+
+    private Artifact find(UUID stepId, UUID artifactId) {
+        return artifactRepository.findById(stepId, artifactId)
+                .orElseThrow(() -> new ArtifactNotFoundException(artifactId));
+    }
+
+    private Reader openReader(Artifact artifact) {
+        if (!artifact.isTruncated()) {
+            return new StringReader(artifact.content());
+        }
+        return new InputStreamReader(openFullContent(artifact), StandardCharsets.UTF_8);
+    }
+
+    private InputStream openFullContent(Artifact artifact) {
+        final InputStream body;
+        if (artifact.contentRef() != null) {
+            body = contentOffloader.open(artifact.contentRef());
+        } else {
+            body = artifactRepository.openContent(artifact.id())
+                    .orElseThrow(() -> new ArtifactNotFoundException(artifact.id()));
+        }
+        // text appended after the artifact was logged follows the original body
+        if (artifact.type() != Artifact.Type.LOG) {
+            return body;
+        }
+        return new SequenceInputStream(body, chunkRepository.openChunks(artifact.id(), 0));
+    }
+
+    /**
+     * Keeps the last lines of a text while it streams through. Memory is bounded by {@code maxChars}, not by how
+     * long the lines are: a tail longer than that loses whole lines from its start, and a single longer line keeps
+     * only its end. Lines end at \n, \r\n or a lone \r, and the terminators are counted as they are, so the
+     * offset matches the text.
+     */
+    private static final class Tail {
+
+        private final int maxLines;
+        private final int maxChars;
+        // finished lines, each with its terminator
+        private final ArrayDeque<String> lines = new ArrayDeque<>();
+        private final StringBuilder current = new StringBuilder();
+        private long total;
+        private long kept;
+        private boolean pendingCr;
+
+        Tail(int maxLines, int maxChars) {
+            this.maxLines = maxLines;
+            this.maxChars = maxChars;
+        }
+
+        ContentSlice read(Reader reader) throws IOException {
+            final var buffer = new char[8192];
+            int n;
+            while ((n = reader.read(buffer)) > 0) {
+                for (int i = 0; i < n; i++) {
+                    accept(buffer[i]);
+                }
+            }
+            if (pendingCr || !current.isEmpty()) {
+                endLine();
+            }
+            // the line being read may still be up to twice the limit
+            while (kept > maxChars) {
+                final var first = lines.removeFirst();
+                final var cut = (int) Math.min(first.length(), kept - maxChars);
+                if (cut < first.length()) {
+                    lines.addFirst(first.substring(cut));
+                }
+                kept -= cut;
+            }
+
+            final var text = new StringBuilder((int) kept);
+            lines.forEach(text::append);
+            // like a line reader, the last terminator is not part of the tail
+            int end = text.length();
+            if (end > 0 && text.charAt(end - 1) == '\n') {
+                end--;
+            }
+            if (end > 0 && text.charAt(end - 1) == '\r') {
+                end--;
+            }
+            final var offset = total - kept;
+            return new ContentSlice(text.substring(0, end), offset, offset > 0);
+        }
+
+        private void accept(char c) {
+            if (pendingCr) {
+                pendingCr = false;
+                if (c == '\n') {
+                    append(c);
+                    endLine();
+                    return;
+                }
+                endLine();
+            }
+            append(c);
+            if (c == '\n') {
+                endLine();
+            } else if (c == '\r') {
+                pendingCr = true;
+            }
+        }
+
+        private void append(char c) {
+            current.append(c);
+            total++;
+            kept++;
+            if (kept > maxChars) {
+                trim();
+            }
+        }
+
+        private void endLine() {
+            lines.addLast(current.toString());
+            current.setLength(0);
+            if (lines.size() > maxLines) {
+                kept -= lines.removeFirst().length();
+            }
+        }
+
+        private void trim() {
+            while (kept > maxChars && !lines.isEmpty()) {
+                kept -= lines.removeFirst().length();
+            }
+            // only the line being read is left; cut its start in large steps rather than char by char
+            if (current.length() >= 2 * maxChars) {
+                final var cut = current.length() - maxChars;
+                current.delete(0, cut);
+                kept -= cut;
+            }
+        }
+    }
+}
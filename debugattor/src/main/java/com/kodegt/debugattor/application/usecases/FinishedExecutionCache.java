@@ -0,0 +1,148 @@
+package com.kodegt.debugattor.application.usecases;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.kodegt.debugattor.domain.artifact.Artifact;
+import com.kodegt.debugattor.domain.events.ArtifactAppendedEvent;
+import com.kodegt.debugattor.domain.events.ArtifactLoggedEvent;
+import com.kodegt.debugattor.domain.events.StepRegisteredEvent;
+import com.kodegt.debugattor.domain.execution.Execution;
+import com.kodegt.debugattor.domain.step.Step;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Full trees of COMPLETED and FAILED executions, which are opened again and again but rarely change. Running
+ * executions are never cached. Entries are weighed by an estimate of their size in memory, so a few huge runs
+ * cannot push out everything else unnoticed.
+ */
+@Component
+public class FinishedExecutionCache {
+
+    // rough per-object cost of the records, lists and timestamps around the text
+    private static final int EXECUTION_OVERHEAD = 256;
+    private static final int STEP_OVERHEAD = 160;
+    private static final int ARTIFACT_OVERHEAD = 192;
+
+    private record Entry(long version, Execution execution) {
+    }
+
+    private final Cache<UUID, Entry> cache;
+    // Artifact and step events only carry the step id. Mappings are added and dropped together with their entry,
+    // inside the same map operation, so no way out of the cache leaves them behind.
+    private final Map<UUID, UUID> executionByStep = new ConcurrentHashMap<>();
+
+    public FinishedExecutionCache(MeterRegistry meterRegistry,
+                                  @Value("${executions.cache.max-size:64MB}") DataSize maxSize,
+                                  @Value("${executions.cache.expire-after-access:1h}") Duration expireAfterAccess) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((UUID id, Entry entry) -> weigh(entry.execution()))
+                .expireAfterAccess(expireAfterAccess)
+                // runs while the entry is removed, so it cannot race a reload of the same execution
+                .evictionListener((UUID id, Entry entry, RemovalCause cause) -> forget(id, entry))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "executions.finished");
+    }
+
+    /**
+     * Returns the cached tree if it is at least {@code version}, otherwise loads it; only finished executions are
+     * kept. The version is read by the caller before loading, so a write that lands between the two is never
+     * hidden behind a stale entry, even if its invalidation event has not arrived yet.
+     */
+    Optional<Execution> get(UUID id, long version, Function<UUID, Optional<Execution>> loader) {
+        final var cached = cache.getIfPresent(id);
+        if (cached != null && cached.version() >= version) {
+            return Optional.of(cached.execution());
+        }
+        final var loaded = loader.apply(id);
+        loaded.filter(execution -> execution.status() != Execution.Status.RUNNING).ifPresent(execution ->
+                cache.asMap().compute(id, (key, old) -> {
+                    // concurrent loads keep whichever saw the newer version
+                    if (old != null && old.version() >= version) {
+                        return old;
+                    }
+                    forget(key, old);
+                    final var fresh = new Entry(version, execution);
+                    remember(key, fresh);
+                    return fresh;
+                }));
+        return loaded;
+    }
+
+    void invalidate(UUID executionId) {
+        cache.asMap().computeIfPresent(executionId, (key, entry) -> {
+            forget(key, entry);
+            return null;
+        });
+    }
+
+    void invalidateStep(UUID stepId) {
+        final var executionId = executionByStep.get(stepId);
+        if (executionId != null) {
+            invalidate(executionId);
+        }
+    }
+
+    @EventListener
+    void onStepRegistered(StepRegisteredEvent event) {
+        invalidate(event.executionId());
+    }
+
+    @EventListener
+    void onArtifactLogged(ArtifactLoggedEvent event) {
+        invalidateStep(event.stepId());
+    }
+
+    @EventListener
+    void onArtifactAppended(ArtifactAppendedEvent event) {
+        invalidateStep(event.stepId());
+    }
+
+    private void remember(UUID executionId, Entry entry) {
+        if (entry.execution().steps() != null) {
+            entry.execution().steps().forEach(step -> executionByStep.put(step.id(), executionId));
+        }
+    }
+
+    private void forget(UUID executionId, Entry entry) {
+        if (entry != null && entry.execution().steps() != null) {
+            entry.execution().steps().forEach(step -> executionByStep.remove(step.id(), executionId));
+        }
+    }
+
+    private static int weigh(Execution execution) {
+        long bytes = EXECUTION_OVERHEAD;
+        if (execution.steps() != null) {
+            for (Step step : execution.steps()) {
+                bytes += STEP_OVERHEAD + chars(step.name());
+                if (step.artifacts() == null) {
+                    continue;
+                }
+                for (Artifact artifact : step.artifacts()) {
+                    bytes += ARTIFACT_OVERHEAD + chars(artifact.content()) + chars(artifact.description())
+                            + chars(artifact.thumbnailUrl()) + chars(artifact.previewUrl()) + chars(artifact.contentRef());
+                }
+            }
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    // Latin-1 strings take a byte per char and the rest two; count the larger
+    private static long chars(String value) {
+        return value == null ? 0 : 2L * value.length();
+    }
+}
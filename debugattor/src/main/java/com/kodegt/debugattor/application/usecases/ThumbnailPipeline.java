@@ -0,0 +1,100 @@
+package com.kodegt.debugattor.application.usecases;
+
+import com.kodegt.debugattor.domain.artifact.ArtifactRepository;
+import com.kodegt.debugattor.domain.artifact.ImageRenderer;
+import com.kodegt.debugattor.domain.storage.BucketStorageOutputPort;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders downscaled copies of uploaded images next to the original, off the request thread.
+ * The executor is bounded: when it is saturated the image is skipped and the views keep showing the original.
+ */
+@Slf4j
+@Component
+public class ThumbnailPipeline {
+
+    static final int THUMBNAIL_SIZE = 320;
+    static final int PREVIEW_SIZE = 1280;
+
+    private final ArtifactRepository artifactRepository;
+    private final BucketStorageOutputPort bucketStorageOutputPort;
+    private final ImageRenderer imageRenderer;
+    private final ThreadPoolExecutor executor;
+
+    public ThumbnailPipeline(ArtifactRepository artifactRepository,
+                             BucketStorageOutputPort bucketStorageOutputPort,
+                             ImageRenderer imageRenderer,
+                             @Value("${artifacts.thumbnails.threads:2}") int threads,
+                             @Value("${artifacts.thumbnails.queue-capacity:256}") int queueCapacity) {
+        this.artifactRepository = artifactRepository;
+        this.bucketStorageOutputPort = bucketStorageOutputPort;
+        this.imageRenderer = imageRenderer;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("thumbnails-", 0).daemon().factory());
+    }
+
+    public void submit(UUID artifactId, String objectName) {
+        try {
+            executor.execute(() -> render(artifactId, objectName));
+        } catch (RejectedExecutionException e) {
+            log.warn("Thumbnail queue is full, skipping artifact {}", artifactId);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void render(UUID artifactId, String objectName) {
+        try {
+            var original = bucketStorageOutputPort.getFile(objectName);
+            if (original.isEmpty()) {
+                return;
+            }
+            final Map<Integer, byte[]> renditions;
+            // the stream holds a storage connection or a file descriptor until closed
+            try (var image = original.get()) {
+                renditions = imageRenderer.render(image, List.of(THUMBNAIL_SIZE, PREVIEW_SIZE));
+            }
+            if (renditions.isEmpty()) {
+                return;
+            }
+
+            // named after the artifact, not the original: originals can be shared by several artifacts
+            final var stored = new ArrayList<String>();
+            final var thumbnailUrl = store(renditions.get(THUMBNAIL_SIZE), artifactId + "-thumb-" + THUMBNAIL_SIZE + ".jpg", stored);
+            final var previewUrl = store(renditions.get(PREVIEW_SIZE), artifactId + "-preview-" + PREVIEW_SIZE + ".jpg", stored);
+
+            // The execution may have been deleted while rendering; its outbox entries did not know about these
+            if (!artifactRepository.updateRenditions(artifactId, thumbnailUrl, previewUrl)) {
+                bucketStorageOutputPort.deleteFiles(stored);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to render thumbnails for artifact {}", artifactId, e);
+        }
+    }
+
+    private String store(byte[] rendition, String objectName, List<String> stored) {
+        if (rendition == null) {
+            return null;
+        }
+        final var url = bucketStorageOutputPort.storeFile(new ByteArrayInputStream(rendition), objectName, "image/jpeg", rendition.length);
+        stored.add(objectName);
+        return url;
+    }
+}
@@ -0,0 +1,245 @@
+package com.kodegt.debugattor.application.usecases;
+
+import com.kodegt.debugattor.application.input.LogArtifactUseCase;
+import com.kodegt.debugattor.domain.artifact.Artifact;
+import com.kodegt.debugattor.domain.artifact.ArtifactBufferFullException;
+import com.kodegt.debugattor.domain.artifact.ArtifactRejectedException;
+import com.kodegt.debugattor.domain.artifact.ArtifactRepository;
+import com.kodegt.debugattor.domain.artifact.FileMetadata;
+import com.kodegt.debugattor.domain.events.ArtifactLoggedEvent;
+import com.kodegt.debugattor.domain.events.EventPublisher;
+import com.kodegt.debugattor.domain.step.StepNotFoundException;
+import com.kodegt.debugattor.domain.step.StepRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Acknowledges text artifacts as soon as they are queued and writes them to the repository
+ * in batches from a background thread. Files and explicit batches still go through
+ * {@link DefaultLogArtifactUseCase} synchronously. The step is checked before an artifact is
+ * accepted, and a batch that fails to write is queued again up to {@code max-attempts} times.
+ * A batch the repository rejects is split until only the offending artifacts are dropped.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "artifacts.write-behind.enabled", havingValue = "true")
+public class WriteBehindLogArtifactUseCase implements LogArtifactUseCase {
+
+    private static final int KNOWN_STEPS_SIZE = 10_000;
+
+    private final DefaultLogArtifactUseCase delegate;
+    private final ArtifactRepository artifactRepository;
+    private final StepRepository stepRepository;
+    private final EventPublisher eventPublisher;
+    private final ContentOffloader contentOffloader;
+    private final BlockingQueue<PendingArtifact> queue;
+    private final int capacity;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Timer flushLag;
+    private final Counter dropped;
+    private final Counter retried;
+    private final Counter rejected;
+    // steps already checked, so a busy step costs one lookup instead of one per artifact
+    private final Map<UUID, Boolean> knownSteps = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+            return size() > KNOWN_STEPS_SIZE;
+        }
+    });
+
+    public WriteBehindLogArtifactUseCase(DefaultLogArtifactUseCase delegate,
+                                         ArtifactRepository artifactRepository,
+                                         StepRepository stepRepository,
+                                         EventPublisher eventPublisher,
+                                         ContentOffloader contentOffloader,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${artifacts.write-behind.capacity:10000}") int capacity,
+                                         @Value("${artifacts.write-behind.batch-size:500}") int batchSize,
+                                         @Value("${artifacts.write-behind.max-attempts:5}") int maxAttempts,
+                                         @Value("${artifacts.write-behind.flush-interval:200ms}") Duration flushInterval) {
+        this.delegate = delegate;
+        this.artifactRepository = artifactRepository;
+        this.stepRepository = stepRepository;
+        this.eventPublisher = eventPublisher;
+        this.contentOffloader = contentOffloader;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        Gauge.builder("artifacts.write_behind.queue.depth", queue, BlockingQueue::size)
+                .description("Artifacts accepted but not yet written")
+                .register(meterRegistry);
+        this.flushLag = Timer.builder("artifacts.write_behind.flush.lag")
+                .description("Time between accepting an artifact and writing it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.dropped = Counter.builder("artifacts.write_behind.dropped")
+                .description("Artifacts discarded because their batch could not be written")
+                .register(meterRegistry);
+        this.retried = Counter.builder("artifacts.write_behind.retried")
+                .description("Artifacts queued again after a failed write")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("artifacts.write_behind.rejected")
+                .description("Artifacts discarded because the repository refused their data")
+                .register(meterRegistry);
+
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Artifact log(UUID stepId, Artifact.Type type, String description, String content) {
+        if (!knownSteps.containsKey(stepId)) {
+            stepRepository.findExecutionId(stepId).orElseThrow(() -> new StepNotFoundException(stepId));
+            knownSteps.put(stepId, Boolean.TRUE);
+        }
+        final var artifact = new Artifact(UUID.randomUUID(), type, description, content, OffsetDateTime.now());
+        if (!queue.offer(new PendingArtifact(stepId, artifact, System.nanoTime(), 1))) {
+            throw new ArtifactBufferFullException(capacity);
+        }
+        if (queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushSafely);
+        }
+        return artifact;
+    }
+
+    @Override
+    public List<Artifact> logAll(UUID stepId, List<Artifact> artifacts) {
+        return delegate.logAll(stepId, artifacts);
+    }
+
+    @Override
+    public Artifact logFile(UUID stepId, Artifact.Type type, String description, InputStream file, FileMetadata metadata) {
+        return delegate.logFile(stepId, type, description, file, metadata);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+        if (!queue.isEmpty()) {
+            log.error("Shutting down with {} buffered artifacts that could not be written", queue.size());
+            dropped.increment(queue.size());
+        }
+    }
+
+    private void flushSafely() {
+        flushRequested.set(false);
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Unexpected error flushing buffered artifacts", e);
+        }
+    }
+
+    private void flush() {
+        final var batch = new ArrayList<PendingArtifact>(batchSize);
+        final var failed = new ArrayList<PendingArtifact>();
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch, failed);
+            batch.clear();
+        }
+        // put back only after draining, so a failing write waits for the next flush instead of spinning
+        for (PendingArtifact pending : failed) {
+            if (!queue.offer(pending.retry())) {
+                log.error("Dropping buffered artifact {} for step {}: buffer is full", pending.artifact().id(), pending.stepId());
+                dropped.increment();
+            }
+        }
+    }
+
+    private void write(List<PendingArtifact> batch, List<PendingArtifact> failed) {
+        final Map<UUID, List<PendingArtifact>> byStep = new LinkedHashMap<>();
+        for (PendingArtifact pending : batch) {
+            byStep.computeIfAbsent(pending.stepId(), k -> new ArrayList<>()).add(pending);
+        }
+
+        byStep.forEach((stepId, pending) -> writeStep(stepId, pending, failed));
+    }
+
+    private void writeStep(UUID stepId, List<PendingArtifact> pending, List<PendingArtifact> failed) {
+        final List<Artifact> written;
+        final var offloaded = new ArrayList<Artifact>(pending.size());
+        try {
+            pending.forEach(item -> offloaded.add(contentOffloader.offload(item.artifact())));
+            written = artifactRepository.logAll(stepId, offloaded);
+        } catch (StepNotFoundException e) {
+            contentOffloader.discard(offloaded);
+            // the step was checked on accept, so it has been deleted since; nothing left to attach to
+            log.warn("Dropping {} buffered artifacts for deleted step {}", pending.size(), stepId);
+            knownSteps.remove(stepId);
+            dropped.increment(pending.size());
+            return;
+        } catch (ArtifactRejectedException e) {
+            contentOffloader.discard(offloaded);
+            if (pending.size() == 1) {
+                log.error("Dropping buffered artifact {} for step {}: rejected by the repository", pending.getFirst().artifact().id(), stepId, e);
+                rejected.increment();
+                return;
+            }
+            // retrying the same rows fails the same way, so halve the group until only the bad ones are left
+            final var half = pending.size() / 2;
+            writeStep(stepId, pending.subList(0, half), failed);
+            writeStep(stepId, pending.subList(half, pending.size()), failed);
+            return;
+        } catch (Exception e) {
+            // a retry offloads again, so this attempt's objects must not stay behind
+            contentOffloader.discard(offloaded);
+            final var retryable = pending.stream().filter(item -> item.attempts() < maxAttempts).toList();
+            final var exhausted = pending.size() - retryable.size();
+            if (exhausted > 0) {
+                log.error("Dropping {} buffered artifacts for step {} after {} attempts", exhausted, stepId, maxAttempts, e);
+                dropped.increment(exhausted);
+            } else {
+                log.warn("Failed to write {} buffered artifacts for step {}, will retry", pending.size(), stepId, e);
+            }
+            retried.increment(retryable.size());
+            failed.addAll(retryable);
+            return;
+        }
+
+        final long now = System.nanoTime();
+        for (PendingArtifact item : pending) {
+            flushLag.record(now - item.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+        }
+        for (Artifact artifact : written) {
+            eventPublisher.publish(new ArtifactLoggedEvent(stepId, artifact.id(), artifact.type().name(), artifact.description(), artifact.content(), artifact.content()));
+        }
+    }
+
+    private record PendingArtifact(UUID stepId, Artifact artifact, long enqueuedAtNanos, int attempts) {
+
+        PendingArtifact retry() {
+            return new PendingArtifact(stepId, artifact, enqueuedAtNanos, attempts + 1);
+        }
+    }
+}
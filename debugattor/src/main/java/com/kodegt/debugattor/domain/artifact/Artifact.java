@@ -3,7 +3,16 @@ package com.kodegt.debugattor.domain.artifact;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
-public record Artifact(UUID id, Type type, String description, String content, OffsetDateTime loggedAt) {
+/**
+ * {@code thumbnailUrl} and {@code previewUrl} are downscaled copies of an IMAGE artifact, filled in
+ * asynchronously after upload. They stay null for other types, small images and while rendering is pending.
+ * <p>
+ * Large LOG and JSON_DATA bodies are kept out of the row: {@code content} then holds only the beginning of the text,
+ * {@code contentRef} names the stored full body and {@code contentSize} is its length in characters, the same unit
+ * as content offsets and appended chunk positions.
+ */
+public record Artifact(UUID id, Type type, String description, String content, OffsetDateTime loggedAt,
+                       String thumbnailUrl, String previewUrl, String contentRef, Long contentSize) {
 
     public enum Type {
         IMAGE, // content will be a base64 image
@@ -11,8 +20,54 @@ public record Artifact(UUID id, Type type, String description, String content, O
         JSON_DATA // content will be a json object
     }
 
-    public static Artifact newArtifact(UUID id, String type, String description, String content, OffsetDateTime loggedAt) {
-        return new Artifact(id, Type.valueOf(type), description, content, loggedAt);
+    public Artifact(UUID id, Type type, String description, String content, OffsetDateTime loggedAt) {
+        this(id, type, description, content, loggedAt, null, null, null, null);
+    }
+
+    public static Artifact newArtifact(UUID id, String type, String description, String content, OffsetDateTime loggedAt,
+                                       String thumbnailUrl, String previewUrl, String contentRef, Long contentSize) {
+        return new Artifact(id, Type.valueOf(type), description, content, loggedAt, thumbnailUrl, previewUrl, contentRef, contentSize);
+    }
+
+    public static Artifact draft(Type type, String description, String content) {
+        return new Artifact(null, type, description, content, null);
+    }
+
+    /**
+     * The first {@code length} chars of {@code text}, one less if that would split a surrogate pair.
+     */
+    public static String preview(String text, int length) {
+        if (text == null || text.length() <= length) {
+            return text;
+        }
+        if (length <= 0) {
+            return "";
+        }
+        return text.substring(0, Character.isHighSurrogate(text.charAt(length - 1)) ? length - 1 : length);
     }
-}
 
+    public Artifact offloaded(String preview, String contentRef, long contentSize) {
+        return new Artifact(id, type, description, preview, loggedAt, thumbnailUrl, previewUrl, contentRef, contentSize);
+    }
+
+    /**
+     * True when {@code content} is only the beginning of a larger body that has to be read separately.
+     */
+    public boolean isTruncated() {
+        return contentSize != null;
+    }
+
+    /**
+     * Smallest available rendition, for grids and collapsed cards.
+     */
+    public String thumbnailOrContent() {
+        return thumbnailUrl != null ? thumbnailUrl : content;
+    }
+
+    /**
+     * Screen-sized rendition, for expanded cards. The original is only needed when zooming in.
+     */
+    public String previewOrContent() {
+        return previewUrl != null ? previewUrl : content;
+    }
+}
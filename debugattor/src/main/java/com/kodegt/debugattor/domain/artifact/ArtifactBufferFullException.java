@@ -0,0 +1,8 @@
+package com.kodegt.debugattor.domain.artifact;
+
+public class ArtifactBufferFullException extends RuntimeException {
+
+    public ArtifactBufferFullException(int capacity) {
+        super("Artifact buffer is full (capacity " + capacity + ")");
+    }
+}
@@ -0,0 +1,38 @@
+package com.kodegt.debugattor.domain.artifact;
+
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ArtifactChunkRepository {
+
+    /**
+     * Appends text to a LOG artifact of the step. Short logs grow in place up to {@code inlineLimit} characters so
+     * their row keeps a usable preview; after that text goes to chunks. Returns false when there is no such artifact.
+     */
+    boolean append(UUID stepId, UUID artifactId, String text, int inlineLimit);
+
+    /**
+     * Where the chunked text starts within the artifact's full text, i.e. the length of the body logged before it.
+     * Empty when nothing was appended to chunks.
+     */
+    Optional<Long> findChunksStart(UUID artifactId);
+
+    /**
+     * UTF-8 bytes of the chunked text of an artifact from {@code position}, a character offset within the chunked
+     * text, fetched page by page while it is read.
+     */
+    InputStream openChunks(UUID artifactId, long position);
+
+    /**
+     * The end of the chunked text, read back chunk by chunk until it holds more than {@code chars} characters or more
+     * than {@code lineBreaks} line breaks, or the first chunk is reached. The offset is within the chunked text.
+     */
+    ContentSlice readLastChunks(UUID artifactId, int lineBreaks, int chars);
+
+    /**
+     * Merges runs of adjacent chunks into segments of up to {@code segmentLength} characters, for at most
+     * {@code limit} of the artifacts appended to since they were last compacted. Returns how many were looked at.
+     */
+    int compact(int segmentLength, int limit);
+}
@@ -0,0 +1,10 @@
+package com.kodegt.debugattor.domain.artifact;
+
+import java.io.InputStream;
+
+/**
+ * The full body of an artifact as UTF-8 bytes. The caller owns {@code stream} and must close it. {@code size} is
+ * its length in bytes, or null when that is only known by reading it.
+ */
+public record ArtifactContent(Artifact.Type type, Long size, InputStream stream) {
+}
@@ -0,0 +1,16 @@
+package com.kodegt.debugattor.domain.artifact;
+
+import java.util.UUID;
+
+public class ArtifactNotFoundException extends RuntimeException {
+    private final UUID artifactId;
+
+    public ArtifactNotFoundException(UUID artifactId) {
+        super("Artifact not found: " + artifactId);
+        this.artifactId = artifactId;
+    }
+
+    public UUID getArtifactId() {
+        return artifactId;
+    }
+}
@@ -0,0 +1,16 @@
+package com.kodegt.debugattor.domain.artifact;
+
+import java.util.UUID;
+
+public class ArtifactNotUploadedException extends RuntimeException {
+    private final UUID artifactId;
+
+    public ArtifactNotUploadedException(UUID artifactId) {
+        super("File for artifact " + artifactId + " has not been uploaded");
+        this.artifactId = artifactId;
+    }
+
+    public UUID getArtifactId() {
+        return artifactId;
+    }
+}
@@ -0,0 +1,20 @@
+package com.kodegt.debugattor.domain.artifact;
+
+import java.util.UUID;
+
+/**
+ * The repository refused the artifacts' data itself, e.g. a value it cannot store or a violated constraint, so
+ * writing them again unchanged fails the same way.
+ */
+public class ArtifactRejectedException extends RuntimeException {
+    private final UUID stepId;
+
+    public ArtifactRejectedException(UUID stepId, Throwable cause) {
+        super("Artifact rejected for step " + stepId + ": " + cause.getMessage(), cause);
+        this.stepId = stepId;
+    }
+
+    public UUID getStepId() {
+        return stepId;
+    }
+}
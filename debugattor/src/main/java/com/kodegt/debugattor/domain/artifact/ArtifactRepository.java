@@ -1,14 +1,33 @@
 package com.kodegt.debugattor.domain.artifact;
 
+import com.kodegt.debugattor.domain.pagination.Cursor;
+import com.kodegt.debugattor.domain.pagination.CursorPage;
+
+import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ArtifactRepository {
-    Artifact log(UUID stepId, Artifact.Type type, String description, String content);
+    Artifact log(UUID stepId, Artifact artifact);
 
-    List<String> findImagesByExecutionId(UUID executionId);
+    List<Artifact> logAll(UUID stepId, List<Artifact> artifacts);
 
     Artifact createWithoutUrl(UUID stepId, Artifact.Type type, String description);
 
     void updateContent(UUID artifactId, String url);
+
+    /**
+     * Returns false when the artifact no longer exists.
+     */
+    boolean updateRenditions(UUID artifactId, String thumbnailUrl, String previewUrl);
+
+    Optional<Artifact> findById(UUID stepId, UUID artifactId);
+
+    /**
+     * Full text of an artifact stored in the database, decoded from its stored form.
+     */
+    Optional<InputStream> openContent(UUID artifactId);
+
+    CursorPage<Artifact> findByStepId(UUID stepId, Cursor after, int limit);
 }
@@ -0,0 +1,8 @@
+package com.kodegt.debugattor.domain.artifact;
+
+/**
+ * A window of an artifact's text. {@code offset} is where it starts, in characters; {@code hasMore} tells whether
+ * text follows it (for ranges) or precedes it (for tails).
+ */
+public record ContentSlice(String text, long offset, boolean hasMore) {
+}
@@ -1,4 +1,11 @@
 package com.kodegt.debugattor.domain.artifact;
 
-public record FileMetadata(String originalFilename, String contentType, long size) {
+/**
+ * {@code sha256} is an optional hex digest announced by the client; when it matches a stored blob the upload is skipped.
+ */
+public record FileMetadata(String originalFilename, String contentType, long size, String sha256) {
+
+    public FileMetadata(String originalFilename, String contentType, long size) {
+        this(originalFilename, contentType, size, null);
+    }
 }
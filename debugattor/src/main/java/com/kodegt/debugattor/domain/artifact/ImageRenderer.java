@@ -0,0 +1,14 @@
+package com.kodegt.debugattor.domain.artifact;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+public interface ImageRenderer {
+
+    /**
+     * Downscales the image so its longest side fits each of {@code sizes} and encodes the results as JPEG.
+     * Sizes the image already fits are left out, and an unreadable image yields an empty map.
+     */
+    Map<Integer, byte[]> render(InputStream image, List<Integer> sizes);
+}
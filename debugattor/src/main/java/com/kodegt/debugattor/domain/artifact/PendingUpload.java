@@ -0,0 +1,9 @@
+package com.kodegt.debugattor.domain.artifact;
+
+import java.time.OffsetDateTime;
+
+/**
+ * An artifact row waiting for its file, together with the presigned URL the client should PUT the file to.
+ */
+public record PendingUpload(Artifact artifact, String uploadUrl, OffsetDateTime expiresAt) {
+}
@@ -0,0 +1,6 @@
+package com.kodegt.debugattor.domain.events;
+
+import java.util.UUID;
+
+public record ArtifactAppendedEvent(UUID stepId, UUID artifactId, String text) {
+}
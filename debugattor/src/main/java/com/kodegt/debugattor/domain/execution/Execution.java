@@ -11,6 +11,10 @@ import java.util.UUID;
 public record Execution(UUID id, Status status, List<Step> steps, OffsetDateTime startedAt, OffsetDateTime finishedAt) {
 
     public String duration() {
+        return duration(startedAt, finishedAt);
+    }
+
+    static String duration(OffsetDateTime startedAt, OffsetDateTime finishedAt) {
         if (startedAt == null || finishedAt == null) return "";
 
         Duration duration = Duration.between(startedAt, finishedAt);
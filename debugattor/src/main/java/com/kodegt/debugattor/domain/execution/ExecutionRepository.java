@@ -1,5 +1,7 @@
 package com.kodegt.debugattor.domain.execution;
 
+import com.kodegt.debugattor.domain.pagination.Cursor;
+import com.kodegt.debugattor.domain.pagination.CursorPage;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
@@ -22,4 +24,19 @@ public interface ExecutionRepository {
     List<Execution> findAll(Pageable pageable);
 
     List<Execution> findAll(String id, Pageable pageable);
+
+    CursorPage<Execution> findAll(Cursor after, int limit);
+
+    List<ExecutionSummary> findSummaries(String id, Pageable pageable);
+
+    CursorPage<ExecutionSummary> findSummaries(String id, Cursor after, int limit);
+
+    Optional<ExecutionSummary> findSummaryById(UUID id);
+
+    /**
+     * Incremented by every change to the execution, its steps or its artifacts.
+     */
+    Optional<Long> findVersion(UUID id);
+
+    List<ExecutionVersion> findVersions(Cursor after, int limit);
 }
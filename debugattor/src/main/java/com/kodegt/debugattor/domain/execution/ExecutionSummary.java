@@ -0,0 +1,22 @@
+package com.kodegt.debugattor.domain.execution;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record ExecutionSummary(UUID id, Execution.Status status, OffsetDateTime startedAt, OffsetDateTime finishedAt,
+                               int completedSteps, int runningSteps, int failedSteps) {
+
+    public static ExecutionSummary load(UUID id, String status, OffsetDateTime startedAt, OffsetDateTime finishedAt,
+                                        Integer completedSteps, Integer runningSteps, Integer failedSteps) {
+        return new ExecutionSummary(id, Execution.Status.valueOf(status), startedAt, finishedAt,
+                completedSteps, runningSteps, failedSteps);
+    }
+
+    public int totalSteps() {
+        return completedSteps + runningSteps + failedSteps;
+    }
+
+    public String duration() {
+        return Execution.duration(startedAt, finishedAt);
+    }
+}
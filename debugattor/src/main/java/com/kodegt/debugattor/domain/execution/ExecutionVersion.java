@@ -0,0 +1,6 @@
+package com.kodegt.debugattor.domain.execution;
+
+import java.util.UUID;
+
+public record ExecutionVersion(UUID id, long version) {
+}
@@ -0,0 +1,47 @@
+package com.kodegt.debugattor.domain.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position made of the ordering timestamp and the row id used as a tie-breaker.
+ * Clients only ever see it in its opaque, encoded form.
+ */
+public record Cursor(Instant position, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static Cursor of(OffsetDateTime position, UUID id) {
+        return new Cursor(position.toInstant(), id);
+    }
+
+    public OffsetDateTime offsetPosition() {
+        return position.atOffset(ZoneOffset.UTC);
+    }
+
+    public String encode() {
+        final var raw = position + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            final var raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            final int separator = raw.indexOf(SEPARATOR);
+            if (separator == -1) {
+                throw new InvalidCursorException(value);
+            }
+            return new Cursor(Instant.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(value);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.kodegt.debugattor.domain.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPage<T>(List<T> items, Cursor next) {
+
+    /**
+     * Builds a page from a query that fetched {@code limit + 1} rows; the extra row only tells whether there is a next page.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, Cursor> cursorOf) {
+        if (fetched.size() <= limit) {
+            return new CursorPage<>(fetched, null);
+        }
+        final var items = fetched.subList(0, limit);
+        return new CursorPage<>(items, cursorOf.apply(items.getLast()));
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,8 @@
+package com.kodegt.debugattor.domain.pagination;
+
+public class InvalidCursorException extends IllegalArgumentException {
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid cursor: " + cursor);
+    }
+}
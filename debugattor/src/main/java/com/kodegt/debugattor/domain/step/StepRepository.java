@@ -1,5 +1,9 @@
 package com.kodegt.debugattor.domain.step;
 
+import com.kodegt.debugattor.domain.pagination.Cursor;
+import com.kodegt.debugattor.domain.pagination.CursorPage;
+
+import java.util.Optional;
 import java.util.UUID;
 
 public interface StepRepository {
@@ -7,4 +11,8 @@ public interface StepRepository {
     void setCompleted(UUID stepId);
     void setFailed(UUID stepId);
 
+    CursorPage<Step> findByExecutionId(UUID executionId, Cursor after, int limit);
+
+    Optional<UUID> findExecutionId(UUID stepId);
+
 }
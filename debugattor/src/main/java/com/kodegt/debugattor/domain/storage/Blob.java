@@ -0,0 +1,17 @@
+package com.kodegt.debugattor.domain.storage;
+
+/**
+ * A stored object identified by the SHA-256 of its bytes, so identical uploads share it.
+ */
+public record Blob(String digest, String objectName) {
+
+    private static final String PREFIX = "sha256-";
+
+    public static Blob ofDigest(String digest) {
+        return new Blob(digest, PREFIX + digest);
+    }
+
+    public static boolean isBlobObject(String objectName) {
+        return objectName.startsWith(PREFIX);
+    }
+}
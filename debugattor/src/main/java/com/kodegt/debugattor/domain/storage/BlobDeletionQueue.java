@@ -0,0 +1,15 @@
+package com.kodegt.debugattor.domain.storage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+public interface BlobDeletionQueue {
+
+    /**
+     * Hands up to {@code limit} pending object names to {@code removeObjects}, which returns the names it could not remove.
+     * Removed names leave the queue, the others stay for a later attempt until they run out of attempts.
+     * {@code removeObjects} is called outside any transaction. Returns how many were removed.
+     */
+    int drain(int limit, Function<List<String>, Collection<String>> removeObjects);
+}
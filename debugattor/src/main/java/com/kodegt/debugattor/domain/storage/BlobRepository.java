@@ -0,0 +1,17 @@
+package com.kodegt.debugattor.domain.storage;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BlobRepository {
+
+    Optional<Blob> findByDigest(String digest);
+
+    /**
+     * Points the artifact at the blob with {@code url} as its content and takes a reference on the blob,
+     * creating the blob row on first use. A blob the artifact pointed at before loses its reference; attaching the
+     * same blob again changes nothing. Returns true when the row was created. Serialized with the removal of
+     * the blob's object, so once it returns a caller that created the row can check whether the object is still there.
+     */
+    boolean attach(UUID artifactId, Blob blob, String url);
+}
@@ -1,7 +1,10 @@
 package com.kodegt.debugattor.domain.storage;
 
 import java.io.InputStream;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 public interface BucketStorageOutputPort {
 
@@ -9,5 +12,32 @@ public interface BucketStorageOutputPort {
 
     Optional<InputStream> getFile(String objectName);
 
+    boolean fileExists(String objectName);
+
+    /**
+     * Server-side copy within the bucket; the bytes do not pass through the application.
+     */
+    void copyFile(String sourceObjectName, String targetObjectName);
+
+    /**
+     * Browser-accessible URL of a stored object.
+     */
+    String publicUrl(String objectName);
+
+    /**
+     * Whether {@link #createUploadUrl} is available, i.e. clients can upload without going through the application.
+     */
+    boolean supportsUploadUrls();
+
+    /**
+     * Presigned URL a client can PUT the object to directly, valid for {@code expiry}.
+     */
+    String createUploadUrl(String objectName, Duration expiry);
+
     void deleteFile(String objectName);
+
+    /**
+     * Removes the objects in bulk and returns the names that could not be removed.
+     */
+    Set<String> deleteFiles(Collection<String> objectNames);
 }
@@ -0,0 +1,9 @@
+package com.kodegt.debugattor.domain.storage;
+
+import java.nio.file.Path;
+
+/**
+ * A stored object that lives in a file on this node, so it can be sent straight from disk.
+ */
+public record LocalObject(Path path, String contentType, long size) {
+}
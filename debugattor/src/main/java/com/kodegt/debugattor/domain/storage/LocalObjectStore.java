@@ -0,0 +1,8 @@
+package com.kodegt.debugattor.domain.storage;
+
+import java.util.Optional;
+
+public interface LocalObjectStore {
+
+    Optional<LocalObject> locate(String objectName);
+}
@@ -0,0 +1,8 @@
+package com.kodegt.debugattor.domain.storage;
+
+public class UploadUrlUnsupportedException extends RuntimeException {
+
+    public UploadUrlUnsupportedException() {
+        super("The configured storage does not support direct uploads; use the upload or stream endpoints instead");
+    }
+}
@@ -0,0 +1,51 @@
+package com.kodegt.debugattor.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every call through an {@code application.input} interface, tagged with the use case, the method and
+ * whether it threw. One aspect instead of an annotation per class, so new use cases are measured without asking.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+class UseCaseMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<UseCaseTags, Timer> timers = new ConcurrentHashMap<>();
+
+    @Around("execution(* com.kodegt.debugattor.application.input.*.*(..))")
+    Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        final var sample = Timer.start(meterRegistry);
+        var exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            exception = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            final var signature = joinPoint.getSignature();
+            sample.stop(timers.computeIfAbsent(
+                    new UseCaseTags(signature.getDeclaringType().getSimpleName(), signature.getName(), exception),
+                    tags -> Timer.builder("usecase.duration")
+                            .description("Time spent in application use cases")
+                            .tag("usecase", tags.usecase())
+                            .tag("method", tags.method())
+                            .tag("exception", tags.exception())
+                            .publishPercentileHistogram()
+                            .register(meterRegistry)));
+        }
+    }
+
+    private record UseCaseTags(String usecase, String method, String exception) {
+    }
+}
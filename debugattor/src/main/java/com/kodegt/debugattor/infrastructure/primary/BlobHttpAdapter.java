@@ -0,0 +1,122 @@
+package com.kodegt.debugattor.infrastructure.primary;
+
+import com.kodegt.debugattor.domain.storage.LocalObject;
+import com.kodegt.debugattor.domain.storage.LocalObjectStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpRange;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Serves objects kept by the filesystem storage. Files go to the socket through Tomcat's sendfile support when the
+ * connector offers it, and through {@link FileChannel#transferTo} otherwise; either way they are never read into
+ * the heap. A single byte range is honoured, so videos and large files can be seeked and resumed.
+ * <p>
+ * Content types come from the uploader and the files are served from the dashboard's own origin, so only raster
+ * images are shown inline. Everything else, HTML and SVG included, is sent as a download, and nothing is
+ * sniffed or scripted.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/blobs")
+@ConditionalOnProperty(name = "storage.type", havingValue = "filesystem")
+class BlobHttpAdapter {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final Set<String> INLINE_TYPES = Set.of(
+            "image/png", "image/jpeg", "image/gif", "image/webp", "image/bmp", "image/avif");
+
+    private final LocalObjectStore localObjectStore;
+
+    @GetMapping("/{objectName}")
+    void serve(@PathVariable String objectName, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        final var stored = localObjectStore.locate(objectName);
+        if (stored.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        final var object = stored.get();
+        final var size = object.size();
+
+        long start = 0;
+        long end = size - 1;
+        final var rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null) {
+            try {
+                final var ranges = HttpRange.parseRanges(rangeHeader);
+                // multipart/byteranges is not worth it here; several ranges get the whole file
+                if (ranges.size() == 1) {
+                    start = ranges.getFirst().getRangeStart(size);
+                    end = ranges.getFirst().getRangeEnd(size);
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+
+        final var length = end - start + 1;
+        response.setContentType(object.contentType());
+        response.setContentLengthLong(length);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setHeader("Content-Security-Policy", "default-src 'none'; sandbox");
+        if (!isInline(object.contentType())) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(objectName).build().toString());
+        }
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, object.path().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        transfer(object, start, length, response);
+    }
+
+    private static boolean isInline(String contentType) {
+        // parameters such as a charset do not matter here
+        final var type = contentType.split(";", 2)[0].strip().toLowerCase(Locale.ROOT);
+        return INLINE_TYPES.contains(type);
+    }
+
+    private static void transfer(LocalObject object, long start, long length, HttpServletResponse response) throws IOException {
+        try (var file = FileChannel.open(object.path(), StandardOpenOption.READ)) {
+            final var out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                final var sent = file.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+}
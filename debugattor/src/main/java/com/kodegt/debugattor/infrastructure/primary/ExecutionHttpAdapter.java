@@ -4,10 +4,17 @@ import com.kodegt.debugattor.application.input.*;
 import com.kodegt.debugattor.domain.artifact.Artifact;
 import com.kodegt.debugattor.domain.artifact.FileMetadata;
 import com.kodegt.debugattor.domain.execution.ExecutionNotFoundException;
+import com.kodegt.debugattor.domain.pagination.Cursor;
 import com.kodegt.debugattor.infrastructure.primary.dto.ArtifactResponse;
+import com.kodegt.debugattor.infrastructure.primary.dto.ContentSliceResponse;
+import com.kodegt.debugattor.infrastructure.primary.dto.CursorPageResponse;
 import com.kodegt.debugattor.infrastructure.primary.dto.ExecutionResponse;
 import com.kodegt.debugattor.infrastructure.primary.dto.StepResponse;
+import com.kodegt.debugattor.infrastructure.primary.dto.UploadUrlResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,11 +22,16 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
@@ -38,29 +50,79 @@ class ExecutionHttpAdapter {
     private final FailStepUseCase failStepUseCase;
     private final CompleteExecutionUseCase completeExecutionUseCase;
     private final FailExecutionUseCase failExecutionUseCase;
+    private final FetchStepsUseCase fetchStepsUseCase;
+    private final FetchArtifactsUseCase fetchArtifactsUseCase;
+    private final PresignedUploadUseCase presignedUploadUseCase;
+    private final ReadArtifactContentUseCase readArtifactContentUseCase;
+    private final AppendArtifactUseCase appendArtifactUseCase;
 
     @PostMapping
     ResponseEntity<ExecutionResponse> startExecution() {
         return ResponseEntity.ok(ExecutionResponse.from(startExecutionUseCase.execute()));
     }
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    // hex SHA-256 of the file; when it is already stored the body is not read
+    static final String CONTENT_SHA256_HEADER = "X-Content-SHA256";
+
     @GetMapping
-    ResponseEntity<List<ExecutionResponse>> fetchExecutions() {
-        List<ExecutionResponse> executions = fetchExecutionsUseCase.execute()
+    ResponseEntity<List<ExecutionResponse>> fetchExecutions(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "10") int limit,
+                                                            WebRequest request) {
+        final var after = Cursor.decode(cursor);
+        // answered from ids and versions alone when the client already has this page
+        final var etag = "\"" + fetchExecutionsUseCase.fetchVersion(after, limit) + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        final var page = fetchExecutionsUseCase.fetch(after, limit);
+        List<ExecutionResponse> executions = page.items()
                 .stream()
                 .map(ExecutionResponse::from)
                 .toList();
-        return ResponseEntity.ok(executions);
+        final var response = ResponseEntity.ok().eTag(etag);
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.next().encode());
+        }
+        return response.body(executions);
     }
 
+    /**
+     * The ETag is the execution's version, so polling clients get a 304 from a single-row lookup while nothing
+     * changed. It is read before the tree, so the tree sent with it is never older than it claims.
+     */
     @GetMapping("/{executionId}")
-    ResponseEntity<ExecutionResponse> getExecutionById(@PathVariable UUID executionId) {
+    ResponseEntity<ExecutionResponse> getExecutionById(@PathVariable UUID executionId, WebRequest request) {
+        final var version = getExecutionByIdUseCase.version(executionId);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        final var etag = "\"" + version.get() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         return getExecutionByIdUseCase.execute(executionId)
-                .map(ExecutionResponse::from)
-                .map(ResponseEntity::ok)
+                .map(execution -> ResponseEntity.ok().eTag(etag).body(ExecutionResponse.from(execution)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{executionId}/steps")
+    ResponseEntity<CursorPageResponse<StepResponse>> fetchSteps(@PathVariable UUID executionId,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "50") int limit) {
+        final var page = fetchStepsUseCase.fetch(executionId, Cursor.decode(cursor), limit);
+        return ResponseEntity.ok(CursorPageResponse.from(page, StepResponse::from));
+    }
+
+    @GetMapping("/{executionId}/steps/{stepId}/artifacts")
+    ResponseEntity<CursorPageResponse<ArtifactResponse>> fetchArtifacts(@PathVariable UUID executionId,
+                                                                        @PathVariable UUID stepId,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(defaultValue = "50") int limit) {
+        final var page = fetchArtifactsUseCase.fetch(stepId, Cursor.decode(cursor), limit);
+        return ResponseEntity.ok(CursorPageResponse.from(page, ArtifactResponse::from));
+    }
+
     @PostMapping("/{executionId}/steps")
     ResponseEntity<StepResponse> registerStep(@PathVariable UUID executionId, @RequestBody RegisterStepDto dto) {
         final var step = registerStepUseCase.execute(executionId, dto.name());
@@ -76,12 +138,25 @@ class ExecutionHttpAdapter {
         return ResponseEntity.ok(ArtifactResponse.from(artifact));
     }
 
+    @PostMapping("/{executionId}/steps/{stepId}/artifacts/batch")
+    ResponseEntity<List<ArtifactResponse>> logArtifacts(@PathVariable UUID executionId, @PathVariable UUID stepId, @RequestBody List<LogArtifact> dtos) {
+        final var artifacts = dtos.stream()
+                .map(dto -> Artifact.draft(Artifact.Type.valueOf(dto.type()), dto.description(), dto.content()))
+                .toList();
+        final var logged = logArtifactUseCase.logAll(stepId, artifacts)
+                .stream()
+                .map(ArtifactResponse::from)
+                .toList();
+        return ResponseEntity.ok(logged);
+    }
+
     @PostMapping("/{executionId}/steps/{stepId}/artifacts/upload")
     public ResponseEntity<ArtifactResponse> uploadFile(@PathVariable UUID executionId,
                                                @PathVariable UUID stepId,
-                                               @ModelAttribute LogArtifact dto) throws IOException {
+                                               @ModelAttribute LogArtifact dto,
+                                               @RequestHeader(value = CONTENT_SHA256_HEADER, required = false) String sha256) throws IOException {
         final var file = dto.file();
-        final var metadata = new FileMetadata(file.getOriginalFilename(), file.getContentType(), file.getSize());
+        final var metadata = new FileMetadata(file.getOriginalFilename(), file.getContentType(), file.getSize(), sha256);
 
         final var artifact = logArtifactUseCase.logFile(stepId,
                 Artifact.Type.valueOf(dto.type()),
@@ -92,6 +167,98 @@ class ExecutionHttpAdapter {
         return ResponseEntity.ok(ArtifactResponse.from(artifact));
     }
 
+    /**
+     * Takes the file as the raw request body and pipes it to storage as it arrives, so nothing is
+     * buffered in memory or spooled to disk the way multipart parsing does. Use this for large files.
+     */
+    @PostMapping("/{executionId}/steps/{stepId}/artifacts/stream")
+    ResponseEntity<ArtifactResponse> streamFile(@PathVariable UUID executionId,
+                                                @PathVariable UUID stepId,
+                                                @RequestParam String type,
+                                                @RequestParam(required = false) String description,
+                                                @RequestParam(required = false) String filename,
+                                                @RequestHeader(value = HttpHeaders.CONTENT_TYPE, defaultValue = MediaType.APPLICATION_OCTET_STREAM_VALUE) String contentType,
+                                                @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, defaultValue = "-1") long contentLength,
+                                                @RequestHeader(value = CONTENT_SHA256_HEADER, required = false) String sha256,
+                                                InputStream body) {
+        final var metadata = new FileMetadata(filename, contentType, contentLength, sha256);
+
+        final var artifact = logArtifactUseCase.logFile(stepId,
+                Artifact.Type.valueOf(type),
+                description,
+                body,
+                metadata);
+
+        return ResponseEntity.ok(ArtifactResponse.from(artifact));
+    }
+
+    /**
+     * First half of a direct-to-bucket upload: creates the artifact and returns a URL to PUT the file to.
+     * The artifact has no content until {@link #finalizeUpload} confirms the file is in the bucket.
+     */
+    @PostMapping("/{executionId}/steps/{stepId}/artifacts/upload-url")
+    ResponseEntity<UploadUrlResponse> createUploadUrl(@PathVariable UUID executionId, @PathVariable UUID stepId, @RequestBody UploadRequest dto) {
+        final var upload = presignedUploadUseCase.requestUpload(stepId, Artifact.Type.valueOf(dto.type()), dto.description());
+        return ResponseEntity.ok(UploadUrlResponse.from(upload));
+    }
+
+    @PostMapping("/{executionId}/steps/{stepId}/artifacts/{artifactId}/finalize")
+    ResponseEntity<ArtifactResponse> finalizeUpload(@PathVariable UUID executionId, @PathVariable UUID stepId, @PathVariable UUID artifactId) {
+        final var artifact = presignedUploadUseCase.finalizeUpload(stepId, artifactId);
+        return ResponseEntity.ok(ArtifactResponse.from(artifact));
+    }
+
+    public record UploadRequest(String type, String description) {
+    }
+
+    /**
+     * Adds text to the end of a LOG artifact, so a running process can ship its output as it is produced.
+     */
+    @PostMapping(value = "/{executionId}/steps/{stepId}/artifacts/{artifactId}/append", consumes = MediaType.TEXT_PLAIN_VALUE)
+    ResponseEntity<Void> appendToArtifact(@PathVariable UUID executionId, @PathVariable UUID stepId, @PathVariable UUID artifactId, @RequestBody String text) {
+        appendArtifactUseCase.append(stepId, artifactId, text);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Streams the full body of an artifact, including text that was offloaded to bucket storage.
+     */
+    @GetMapping("/{executionId}/steps/{stepId}/artifacts/{artifactId}/content")
+    ResponseEntity<InputStreamResource> readContent(@PathVariable UUID executionId, @PathVariable UUID stepId, @PathVariable UUID artifactId) {
+        final var content = readArtifactContentUseCase.read(stepId, artifactId);
+        final var mediaType = content.type() == Artifact.Type.JSON_DATA
+                ? MediaType.APPLICATION_JSON
+                : new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+        final var response = ResponseEntity.ok().contentType(mediaType);
+        if (content.size() != null) {
+            response.contentLength(content.size());
+        }
+        return response.body(new InputStreamResource(content.stream()));
+    }
+
+    /**
+     * Characters {@code [offset, offset + length)} of an artifact's text, for paging through large logs.
+     */
+    @GetMapping(value = "/{executionId}/steps/{stepId}/artifacts/{artifactId}/content", params = "offset")
+    ResponseEntity<ContentSliceResponse> readContentRange(@PathVariable UUID executionId,
+                                                          @PathVariable UUID stepId,
+                                                          @PathVariable UUID artifactId,
+                                                          @RequestParam long offset,
+                                                          @RequestParam(defaultValue = "65536") int length) {
+        return ResponseEntity.ok(ContentSliceResponse.from(readArtifactContentUseCase.readRange(stepId, artifactId, offset, length)));
+    }
+
+    /**
+     * The last {@code tail} lines of an artifact's text.
+     */
+    @GetMapping(value = "/{executionId}/steps/{stepId}/artifacts/{artifactId}/content", params = "tail")
+    ResponseEntity<ContentSliceResponse> readContentTail(@PathVariable UUID executionId,
+                                                         @PathVariable UUID stepId,
+                                                         @PathVariable UUID artifactId,
+                                                         @RequestParam int tail) {
+        return ResponseEntity.ok(ContentSliceResponse.from(readArtifactContentUseCase.readTail(stepId, artifactId, tail)));
+    }
+
     @DeleteMapping("/{executionId}")
     ResponseEntity<Void> deleteExecution(@PathVariable UUID executionId) {
         try {
@@ -0,0 +1,286 @@
+package com.kodegt.debugattor.infrastructure.primary;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kodegt.debugattor.application.input.*;
+import com.kodegt.debugattor.domain.artifact.Artifact;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts a whole run as a newline-delimited JSON stream. Lines are parsed one at a time and
+ * consecutive artifacts for the same step are flushed through {@link LogArtifactUseCase#logAll}
+ * in bounded batches, so memory stays flat no matter how long the connection is kept open.
+ * Artifacts waiting longer than {@code ingest.stream.flush-interval} are flushed in the background, so a
+ * quiet step on a long-lived connection still shows up, and lines are capped at
+ * {@code ingest.stream.max-line-length} characters.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/executions")
+class ExecutionStreamHttpAdapter {
+
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final ObjectMapper objectMapper;
+    private final RegisterStepUseCase registerStepUseCase;
+    private final LogArtifactUseCase logArtifactUseCase;
+    private final CompleteStepUseCase completeStepUseCase;
+    private final FailStepUseCase failStepUseCase;
+    private final CompleteExecutionUseCase completeExecutionUseCase;
+    private final FailExecutionUseCase failExecutionUseCase;
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor();
+
+    @Value("${ingest.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ingest.stream.flush-interval:1s}")
+    private Duration flushInterval;
+
+    // counted in characters, written as a size like the other ingest limits
+    @Value("${ingest.stream.max-line-length:16MB}")
+    private DataSize maxLineLength;
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdownNow();
+    }
+
+    @PostMapping(value = "/{executionId}/stream", consumes = APPLICATION_NDJSON_VALUE)
+    ResponseEntity<StreamResult> stream(@PathVariable UUID executionId, InputStream body) throws IOException {
+        final var session = new StreamSession(executionId);
+        final var interval = flushInterval.toMillis();
+        final var stale = flusher.scheduleWithFixedDelay(session::flushStale, interval, interval, TimeUnit.MILLISECONDS);
+        try (var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            final var lines = new LineReader(reader, (int) Math.min(Integer.MAX_VALUE, maxLineLength.toBytes()));
+            String line;
+            while ((line = lines.next(session.lineNumber + 1)) != null) {
+                session.lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                session.apply(parse(line, session.lineNumber));
+            }
+            session.flush();
+        } catch (ResponseStatusException e) {
+            // artifacts still pending are dropped; everything flushed before the bad line stays, so say how much
+            throw new ResponseStatusException(e.getStatusCode(), e.getReason() + " (" + session.committed() + ")", e);
+        } finally {
+            stale.cancel(false);
+        }
+        return ResponseEntity.ok(session.result());
+    }
+
+    private StreamCommand parse(String line, long lineNumber) {
+        try {
+            return objectMapper.readValue(line, StreamCommand.class);
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid command at line " + lineNumber + ": " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * One line of the stream. {@code op} selects the command; {@code ref} names a step registered
+     * earlier in the same stream so later lines can point at it through {@code step} before its id is known.
+     * {@code step} also accepts the id of a step registered outside the stream.
+     */
+    public record StreamCommand(String op, String ref, String step, String name, String type, String description, String content) {
+    }
+
+    public record StreamResult(long lines, int stepsRegistered, int artifactsLogged, int stepsFinished, Map<String, UUID> steps) {
+    }
+
+    private class StreamSession {
+
+        private final UUID executionId;
+        private final Map<String, UUID> stepRefs = new HashMap<>();
+        private final List<Artifact> pending = new ArrayList<>();
+        private UUID pendingStepId;
+        private long pendingSince;
+        // a background flush that failed, reported on the request thread
+        private RuntimeException flushFailure;
+        private long lineNumber;
+        private int stepsRegistered;
+        private int artifactsLogged;
+        private int stepsFinished;
+
+        StreamSession(UUID executionId) {
+            this.executionId = executionId;
+        }
+
+        synchronized void apply(StreamCommand command) {
+            rethrowFlushFailure();
+            if (command.op() == null) {
+                throw invalid("missing op");
+            }
+            switch (command.op()) {
+                case "register-step" -> {
+                    flush();
+                    final var step = registerStepUseCase.execute(executionId, command.name());
+                    if (command.ref() != null) {
+                        stepRefs.put(command.ref(), step.id());
+                    }
+                    stepsRegistered++;
+                }
+                case "log-artifact" -> {
+                    final var stepId = resolveStep(command.step());
+                    if (!stepId.equals(pendingStepId) || pending.size() >= batchSize) {
+                        flush();
+                        pendingStepId = stepId;
+                    }
+                    if (pending.isEmpty()) {
+                        pendingSince = System.nanoTime();
+                    }
+                    pending.add(Artifact.draft(parseType(command.type()), command.description(), command.content()));
+                }
+                case "complete-step" -> {
+                    flush();
+                    completeStepUseCase.execute(resolveStep(command.step()));
+                    stepsFinished++;
+                }
+                case "fail-step" -> {
+                    flush();
+                    failStepUseCase.execute(resolveStep(command.step()));
+                    stepsFinished++;
+                }
+                case "complete-execution" -> {
+                    flush();
+                    completeExecutionUseCase.execute(executionId);
+                }
+                case "fail-execution" -> {
+                    flush();
+                    failExecutionUseCase.execute(executionId);
+                }
+                default -> throw invalid("unknown op '" + command.op() + "'");
+            }
+        }
+
+        synchronized void flush() {
+            rethrowFlushFailure();
+            if (pending.isEmpty()) {
+                return;
+            }
+            final var batch = List.copyOf(pending);
+            pending.clear();
+            artifactsLogged += logArtifactUseCase.logAll(pendingStepId, batch).size();
+        }
+
+        synchronized void flushStale() {
+            if (flushFailure != null || pending.isEmpty() || System.nanoTime() - pendingSince < flushInterval.toNanos()) {
+                return;
+            }
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                flushFailure = e;
+            }
+        }
+
+        private void rethrowFlushFailure() {
+            if (flushFailure != null) {
+                throw flushFailure;
+            }
+        }
+
+        synchronized String committed() {
+            return "committed before the error: " + stepsRegistered + " steps registered, "
+                    + artifactsLogged + " artifacts logged, " + stepsFinished + " steps finished";
+        }
+
+        synchronized StreamResult result() {
+            return new StreamResult(lineNumber, stepsRegistered, artifactsLogged, stepsFinished, Map.copyOf(stepRefs));
+        }
+
+        private UUID resolveStep(String step) {
+            if (step == null) {
+                throw invalid("missing step");
+            }
+            final var stepId = stepRefs.get(step);
+            if (stepId != null) {
+                return stepId;
+            }
+            try {
+                return UUID.fromString(step);
+            } catch (IllegalArgumentException e) {
+                throw invalid("unknown step '" + step + "'");
+            }
+        }
+
+        private Artifact.Type parseType(String type) {
+            try {
+                return Artifact.Type.valueOf(type);
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw invalid("unknown artifact type '" + type + "'");
+            }
+        }
+
+        private ResponseStatusException invalid(String reason) {
+            return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid command at line " + lineNumber + ": " + reason);
+        }
+    }
+
+    /**
+     * {@link BufferedReader#readLine} for untrusted input: a line longer than {@code maxLength} is rejected as soon
+     * as it gets there instead of being buffered whole.
+     */
+    private static class LineReader {
+
+        private final Reader reader;
+        private final int maxLength;
+        private final StringBuilder line = new StringBuilder();
+        private boolean skipLf;
+
+        LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        String next(long lineNumber) throws IOException {
+            line.setLength(0);
+            int c;
+            while ((c = reader.read()) >= 0) {
+                if (skipLf) {
+                    skipLf = false;
+                    if (c == '\n') {
+                        continue;
+                    }
+                }
+                if (c == '\n' || c == '\r') {
+                    skipLf = c == '\r';
+                    return line.toString();
+                }
+                if (line.length() >= maxLength) {
+                    throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Line " + lineNumber + " is longer than " + maxLength + " characters");
+                }
+                line.append((char) c);
+            }
+            return line.isEmpty() ? null : line.toString();
+        }
+    }
+}
@@ -1,7 +1,14 @@
 package com.kodegt.debugattor.infrastructure.primary;
 
+import com.kodegt.debugattor.domain.artifact.ArtifactBufferFullException;
+import com.kodegt.debugattor.domain.artifact.ArtifactNotFoundException;
+import com.kodegt.debugattor.domain.artifact.ArtifactNotUploadedException;
+import com.kodegt.debugattor.domain.artifact.ArtifactRejectedException;
 import com.kodegt.debugattor.domain.execution.ExecutionNotFoundException;
+import com.kodegt.debugattor.domain.pagination.InvalidCursorException;
 import com.kodegt.debugattor.domain.step.StepNotFoundException;
+import com.kodegt.debugattor.domain.storage.UploadUrlUnsupportedException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -18,5 +25,36 @@ class RestExceptionHandler {
     ResponseEntity<Void> handleStepNotFoundException(StepNotFoundException ex) {
         return ResponseEntity.notFound().build();
     }
-}
 
+    @ExceptionHandler(ArtifactNotFoundException.class)
+    ResponseEntity<Void> handleArtifactNotFound(ArtifactNotFoundException ex) {
+        return ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler(ArtifactNotUploadedException.class)
+    ResponseEntity<Void> handleArtifactNotUploaded(ArtifactNotUploadedException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    @ExceptionHandler(UploadUrlUnsupportedException.class)
+    ResponseEntity<Void> handleUploadUrlUnsupported(UploadUrlUnsupportedException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    ResponseEntity<Void> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity.badRequest().build();
+    }
+
+    @ExceptionHandler(ArtifactBufferFullException.class)
+    ResponseEntity<Void> handleArtifactBufferFull(ArtifactBufferFullException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", "1")
+                .build();
+    }
+
+    @ExceptionHandler(ArtifactRejectedException.class)
+    ResponseEntity<Void> handleArtifactRejected(ArtifactRejectedException ex) {
+        return ResponseEntity.unprocessableEntity().build();
+    }
+}
@@ -10,7 +10,11 @@ public record ArtifactResponse(
         String type,
         String description,
         String content,
-        OffsetDateTime loggedAt
+        OffsetDateTime loggedAt,
+        String thumbnailUrl,
+        String previewUrl,
+        boolean truncated,
+        Long contentSize
 ) {
     public static ArtifactResponse from(Artifact artifact) {
         return new ArtifactResponse(
@@ -18,7 +22,11 @@ public record ArtifactResponse(
                 artifact.type() == null ? null : artifact.type().name(),
                 artifact.description(),
                 artifact.content(),
-                artifact.loggedAt()
+                artifact.loggedAt(),
+                artifact.thumbnailUrl(),
+                artifact.previewUrl(),
+                artifact.isTruncated(),
+                artifact.contentSize()
         );
     }
 }
@@ -0,0 +1,17 @@
+package com.kodegt.debugattor.infrastructure.primary.dto;
+
+import com.kodegt.debugattor.domain.artifact.ContentSlice;
+
+public record ContentSliceResponse(
+        String text,
+        long offset,
+        boolean hasMore
+) {
+    public static ContentSliceResponse from(ContentSlice slice) {
+        return new ContentSliceResponse(
+                slice.text(),
+                slice.offset(),
+                slice.hasMore()
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package com.kodegt.debugattor.infrastructure.primary.dto;
+
+import com.kodegt.debugattor.domain.pagination.CursorPage;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPageResponse<T>(
+        List<T> items,
+        String nextCursor
+) {
+    public static <S, T> CursorPageResponse<T> from(CursorPage<S> page, Function<S, T> mapper) {
+        return new CursorPageResponse<>(
+                page.items().stream().map(mapper).toList(),
+                page.hasNext() ? page.next().encode() : null
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package com.kodegt.debugattor.infrastructure.primary.dto;
+
+import com.kodegt.debugattor.domain.artifact.PendingUpload;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record UploadUrlResponse(
+        UUID artifactId,
+        String uploadUrl,
+        OffsetDateTime expiresAt
+) {
+    public static UploadUrlResponse from(PendingUpload upload) {
+        return new UploadUrlResponse(
+                upload.artifact().id(),
+                upload.uploadUrl(),
+                upload.expiresAt()
+        );
+    }
+}
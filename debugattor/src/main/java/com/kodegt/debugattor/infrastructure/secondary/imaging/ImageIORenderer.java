@@ -0,0 +1,104 @@
+package com.kodegt.debugattor.infrastructure.secondary.imaging;
+
+import com.kodegt.debugattor.domain.artifact.ImageRenderer;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JPEG renditions through the JDK's ImageIO. The JDK has no WebP encoder, and JPEG is small enough for previews.
+ */
+@Component
+class ImageIORenderer implements ImageRenderer {
+
+    private static final float JPEG_QUALITY = 0.8f;
+    // matches the dark background the views put behind images, so flattened transparency is invisible
+    private static final Color BACKGROUND = new Color(0x0a, 0x0a, 0x0a);
+
+    @Override
+    public Map<Integer, byte[]> render(InputStream image, List<Integer> sizes) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(image)) {
+            var readers = input == null ? Collections.<ImageReader>emptyIterator() : ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return Map.of();
+            }
+            var reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int largest = Collections.max(sizes);
+                if (longestSide <= Collections.min(sizes)) {
+                    return Map.of();
+                }
+
+                // Subsampling while decoding keeps huge screenshots from being fully materialized in memory
+                var param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, longestSide / (largest * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                var source = reader.read(0, param);
+
+                Map<Integer, byte[]> renditions = new LinkedHashMap<>();
+                for (int size : sizes) {
+                    if (longestSide > size) {
+                        renditions.put(size, encode(scale(source, size)));
+                    }
+                }
+                return renditions;
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to render image", e);
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int size) {
+        double ratio = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        var target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, BACKGROUND, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        var bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,62 @@
+package com.kodegt.debugattor.infrastructure.secondary.persistence;
+
+import com.kodegt.debugattor.domain.artifact.ArtifactChunkRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends arrive as many small rows; this merges them into segments in the background so reading a long log
+ * fetches a few large rows instead of thousands of tiny ones.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class ArtifactChunkCompactor {
+
+    private final ArtifactChunkRepository chunkRepository;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    // in characters, DataSize only for the readable 256KB notation
+    @Value("${artifacts.append.segment-length:256KB}")
+    private DataSize segmentLength;
+
+    @Value("${artifacts.append.compaction-interval:5s}")
+    private Duration interval;
+
+    @Value("${artifacts.append.compaction-batch-size:100}")
+    private int batchSize;
+
+    @PostConstruct
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::compact, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private void compact() {
+        try {
+            int compacted;
+            do {
+                compacted = chunkRepository.compact((int) segmentLength.toBytes(), batchSize);
+                if (compacted > 0) {
+                    log.debug("Compacted chunks of {} appended artifacts", compacted);
+                }
+            } while (compacted == batchSize);
+        } catch (Exception e) {
+            log.error("Failed to compact artifact chunks, will retry", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.kodegt.debugattor.infrastructure.secondary.persistence;
+
+import com.kodegt.debugattor.domain.artifact.Artifact;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Stores the text of LOG and JSON_DATA artifacts deflated in {@code content_compressed}, keeping a plain preview in
+ * {@code content}. Queries that return artifacts to clients inflate it back with {@link #restore}, so compression
+ * does not change what they see; single-artifact reads keep the preview and inflate only the part they need.
+ */
+@Component
+class ContentCodec {
+
+    // not worth it unless the body shrinks by at least this much
+    private static final double MAX_RATIO = 0.9;
+
+    private final long minSize;
+    private final int previewLength;
+
+    ContentCodec(@Value("${artifacts.compression.min-size:4KB}") DataSize minSize,
+                 @Value("${artifacts.preview-length:2000}") int previewLength) {
+        this.minSize = minSize.toBytes();
+        this.previewLength = previewLength;
+    }
+
+    record StoredContent(String content, byte[] compressed, Long size) {
+    }
+
+    StoredContent encode(Artifact artifact) {
+        final var content = artifact.content();
+        // already offloaded to bucket storage, or not text
+        if (artifact.contentRef() != null || artifact.type() == Artifact.Type.IMAGE
+                || content == null || content.length() <= previewLength) {
+            return new StoredContent(content, null, artifact.contentSize());
+        }
+        final var bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < minSize) {
+            return new StoredContent(content, null, null);
+        }
+        final var compressed = deflate(bytes);
+        if (compressed.length > bytes.length * MAX_RATIO) {
+            return new StoredContent(content, null, null);
+        }
+        return new StoredContent(Artifact.preview(content, previewLength), compressed, (long) content.length());
+    }
+
+    InputStream decode(byte[] compressed) {
+        return new InflaterInputStream(new ByteArrayInputStream(compressed));
+    }
+
+    /**
+     * The artifact with its whole text in place of the preview, when the compressed body is all of it. Text appended
+     * since it was logged lives in chunks, so such an artifact keeps its preview.
+     */
+    Artifact restore(Artifact artifact, byte[] compressed) {
+        if (compressed == null || artifact.contentRef() != null || artifact.contentSize() == null) {
+            return artifact;
+        }
+        final byte[] bytes;
+        try (var in = decode(compressed)) {
+            bytes = in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final var text = new String(bytes, StandardCharsets.UTF_8);
+        // rows written before sizes were counted in chars hold the byte count
+        if (artifact.contentSize() != text.length() && artifact.contentSize() != bytes.length) {
+            return artifact;
+        }
+        return new Artifact(artifact.id(), artifact.type(), artifact.description(), text, artifact.loggedAt(),
+                artifact.thumbnailUrl(), artifact.previewUrl(), null, null);
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        final var deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            final var out = new ByteArrayOutputStream(bytes.length / 4);
+            final var buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
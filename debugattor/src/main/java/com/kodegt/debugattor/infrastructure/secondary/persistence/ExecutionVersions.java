@@ -0,0 +1,45 @@
+package com.kodegt.debugattor.infrastructure.secondary.persistence;
+
+import org.jooq.DSLContext;
+
+import java.util.UUID;
+
+import static org.jooq.generated.Tables.ARTIFACTS;
+import static org.jooq.generated.Tables.EXECUTIONS;
+import static org.jooq.generated.Tables.STEPS;
+import static org.jooq.impl.DSL.select;
+
+/**
+ * Bumps {@code executions.version} after a write below an execution. Callers bump after the write itself and in
+ * the same transaction, so a reader that saw a version always loads a tree at least that new, and a write never
+ * lands without its bump.
+ */
+final class ExecutionVersions {
+
+    private ExecutionVersions() {
+    }
+
+    static void bump(DSLContext context, UUID executionId) {
+        context.update(EXECUTIONS)
+                .set(EXECUTIONS.VERSION, EXECUTIONS.VERSION.plus(1))
+                .where(EXECUTIONS.ID.eq(executionId))
+                .execute();
+    }
+
+    static void bumpForStep(DSLContext context, UUID stepId) {
+        context.update(EXECUTIONS)
+                .set(EXECUTIONS.VERSION, EXECUTIONS.VERSION.plus(1))
+                .where(EXECUTIONS.ID.eq(select(STEPS.EXECUTION_ID).from(STEPS).where(STEPS.ID.eq(stepId))))
+                .execute();
+    }
+
+    static void bumpForArtifact(DSLContext context, UUID artifactId) {
+        context.update(EXECUTIONS)
+                .set(EXECUTIONS.VERSION, EXECUTIONS.VERSION.plus(1))
+                .where(EXECUTIONS.ID.eq(select(STEPS.EXECUTION_ID)
+                        .from(STEPS)
+                        .join(ARTIFACTS).on(ARTIFACTS.STEP_ID.eq(STEPS.ID))
+                        .where(ARTIFACTS.ID.eq(artifactId))))
+                .execute();
+    }
+}
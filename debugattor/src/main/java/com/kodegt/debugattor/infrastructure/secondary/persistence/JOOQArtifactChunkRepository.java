@@ -0,0 +1,289 @@
+package com.kodegt.debugattor.infrastructure.secondary.persistence;
+
+import com.kodegt.debugattor.domain.artifact.Artifact;
+import com.kodegt.debugattor.domain.artifact.ArtifactChunkRepository;
+import com.kodegt.debugattor.domain.artifact.ContentSlice;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.jooq.generated.Tables.ARTIFACTS;
+import static org.jooq.generated.Tables.ARTIFACT_CHUNKS;
+import static org.jooq.impl.DSL.charLength;
+import static org.jooq.impl.DSL.max;
+import static org.jooq.impl.DSL.val;
+import static org.jooq.impl.DSL.when;
+
+@Repository
+@RequiredArgsConstructor
+class JOOQArtifactChunkRepository implements ArtifactChunkRepository {
+
+    private static final int PAGE_SIZE = 64;
+
+    private final DSLContext context;
+
+    @Override
+    public boolean append(UUID stepId, UUID artifactId, String text, int inlineLimit) {
+        final var owned = ARTIFACTS.ID.eq(artifactId)
+                .and(ARTIFACTS.STEP_ID.eq(stepId))
+                .and(ARTIFACTS.TYPE.eq(Artifact.Type.LOG.name()));
+
+        return context.transactionResult(configuration -> {
+            var tx = DSL.using(configuration);
+
+            // Locking the row serializes concurrent appends to the artifact. The content is only fetched while it
+            // may still be short enough to grow in place; char_length counts code points, never more than chars.
+            var row = tx.select(ARTIFACTS.CONTENT_SIZE, ARTIFACTS.CONTENT_REF, when(charLength(ARTIFACTS.CONTENT).le(inlineLimit), ARTIFACTS.CONTENT))
+                    .from(ARTIFACTS)
+                    .where(owned)
+                    .forUpdate()
+                    .fetchOptional();
+            if (row.isEmpty()) {
+                return false;
+            }
+            var size = row.get().value1();
+            var inline = row.get().value3();
+
+            // Sizes, the inline limit and chunk positions are all counted in Java chars, the unit readers page by.
+            // Short logs keep growing inside the row, so they stay whole and need no chunk reads at all
+            if (size == null && row.get().value2() == null && inline != null && inline.length() + text.length() <= inlineLimit) {
+                tx.update(ARTIFACTS)
+                        .set(ARTIFACTS.CONTENT, inline + text)
+                        .where(ARTIFACTS.ID.eq(artifactId))
+                        .execute();
+                ExecutionVersions.bumpForStep(tx, stepId);
+                return true;
+            }
+
+            if (size == null) {
+                // a whole body too long to grow in place; measured once, the size is kept from here on
+                size = (long) (inline != null ? inline : tx.select(ARTIFACTS.CONTENT)
+                        .from(ARTIFACTS)
+                        .where(ARTIFACTS.ID.eq(artifactId))
+                        .fetchOne(ARTIFACTS.CONTENT)).length();
+            }
+            var offset = tx.select(ARTIFACT_CHUNKS.START_OFFSET.plus(ARTIFACT_CHUNKS.LENGTH))
+                    .from(ARTIFACT_CHUNKS)
+                    .where(ARTIFACT_CHUNKS.ARTIFACT_ID.eq(artifactId))
+                    .orderBy(ARTIFACT_CHUNKS.START_OFFSET.desc())
+                    .limit(1)
+                    .fetchOptional(0, Long.class)
+                    .orElse(0L);
+
+            // a second chunk is the first thing the compactor could merge
+            tx.update(ARTIFACTS)
+                    .set(ARTIFACTS.CONTENT_SIZE, size + text.length())
+                    .set(ARTIFACTS.NEEDS_COMPACTION, offset > 0)
+                    .where(ARTIFACTS.ID.eq(artifactId))
+                    .execute();
+
+            tx.insertInto(ARTIFACT_CHUNKS, ARTIFACT_CHUNKS.ARTIFACT_ID, ARTIFACT_CHUNKS.START_OFFSET, ARTIFACT_CHUNKS.LENGTH, ARTIFACT_CHUNKS.CONTENT)
+                    .values(artifactId, offset, text.length(), text)
+                    .execute();
+            ExecutionVersions.bumpForStep(tx, stepId);
+            return true;
+        });
+    }
+
+    @Override
+    public Optional<Long> findChunksStart(UUID artifactId) {
+        // one statement, so the size and the chunks come from the same snapshot
+        return context.select(ARTIFACTS.CONTENT_SIZE.minus(max(ARTIFACT_CHUNKS.START_OFFSET.plus(ARTIFACT_CHUNKS.LENGTH))))
+                .from(ARTIFACTS)
+                .join(ARTIFACT_CHUNKS).on(ARTIFACT_CHUNKS.ARTIFACT_ID.eq(ARTIFACTS.ID))
+                .where(ARTIFACTS.ID.eq(artifactId))
+                .groupBy(ARTIFACTS.CONTENT_SIZE)
+                .fetchOptional(0, Long.class);
+    }
+
+    @Override
+    public InputStream openChunks(UUID artifactId, long position) {
+        return new ChunkInputStream(artifactId, position);
+    }
+
+    @Override
+    public ContentSlice readLastChunks(UUID artifactId, int lineBreaks, int chars) {
+        final var texts = new ArrayDeque<String>();
+        long start = Long.MAX_VALUE;
+        long length = 0;
+        long lineFeeds = 0;
+        long carriageReturns = 0;
+        while (length <= chars && Math.max(lineFeeds, carriageReturns) <= lineBreaks) {
+            var rows = context.select(ARTIFACT_CHUNKS.START_OFFSET, ARTIFACT_CHUNKS.CONTENT)
+                    .from(ARTIFACT_CHUNKS)
+                    .where(ARTIFACT_CHUNKS.ARTIFACT_ID.eq(artifactId))
+                    .and(ARTIFACT_CHUNKS.START_OFFSET.lt(val(start)))
+                    .orderBy(ARTIFACT_CHUNKS.START_OFFSET.desc())
+                    .limit(PAGE_SIZE)
+                    .fetch();
+            for (var row : rows) {
+                var text = row.value2();
+                // a chunk merged since the previous page may reach into what was already read
+                if (start - row.value1() < text.length()) {
+                    text = text.substring(0, (int) (start - row.value1()));
+                }
+                texts.addFirst(text);
+                start = row.value1();
+                length += text.length();
+                lineFeeds += text.chars().filter(c -> c == '\n').count();
+                carriageReturns += text.chars().filter(c -> c == '\r').count();
+            }
+            if (rows.size() < PAGE_SIZE) {
+                break;
+            }
+        }
+        if (texts.isEmpty()) {
+            return new ContentSlice("", 0, false);
+        }
+        return new ContentSlice(String.join("", texts), start, start > 0);
+    }
+
+    @Override
+    public int compact(int segmentLength, int limit) {
+        var candidates = context.select(ARTIFACTS.ID)
+                .from(ARTIFACTS)
+                .where(ARTIFACTS.NEEDS_COMPACTION)
+                .limit(limit)
+                .fetch(ARTIFACTS.ID);
+
+        candidates.forEach(artifactId -> compact(artifactId, segmentLength));
+        return candidates.size();
+    }
+
+    private void compact(UUID artifactId, int segmentLength) {
+        context.transaction(configuration -> {
+            var tx = DSL.using(configuration);
+            // takes the row lock appends take, so a chunk appended from here on flags the artifact again
+            var flagged = tx.update(ARTIFACTS)
+                    .set(ARTIFACTS.NEEDS_COMPACTION, false)
+                    .where(ARTIFACTS.ID.eq(artifactId))
+                    .and(ARTIFACTS.NEEDS_COMPACTION)
+                    .execute();
+            if (flagged == 0) {
+                return;
+            }
+            var chunks = tx.select(ARTIFACT_CHUNKS.ID, ARTIFACT_CHUNKS.LENGTH)
+                    .from(ARTIFACT_CHUNKS)
+                    .where(ARTIFACT_CHUNKS.ARTIFACT_ID.eq(artifactId))
+                    .orderBy(ARTIFACT_CHUNKS.START_OFFSET.asc())
+                    .forUpdate()
+                    .fetch();
+
+            // Adjacent chunks are grouped greedily; a chunk already at segment size starts a group of its own
+            var groups = new ArrayList<List<Long>>();
+            var current = new ArrayList<Long>();
+            long currentLength = 0;
+            for (var chunk : chunks) {
+                if (!current.isEmpty() && currentLength + chunk.value2() > segmentLength) {
+                    groups.add(current);
+                    current = new ArrayList<>();
+                    currentLength = 0;
+                }
+                current.add(chunk.value1());
+                currentLength += chunk.value2();
+            }
+            groups.add(current);
+
+            for (var group : groups) {
+                if (group.size() < 2) {
+                    continue;
+                }
+                var text = String.join("", tx.select(ARTIFACT_CHUNKS.CONTENT)
+                        .from(ARTIFACT_CHUNKS)
+                        .where(ARTIFACT_CHUNKS.ID.in(group))
+                        .orderBy(ARTIFACT_CHUNKS.START_OFFSET.asc())
+                        .fetch(ARTIFACT_CHUNKS.CONTENT));
+                // the first chunk keeps its start_offset, so readers paging by position never skip or repeat text
+                tx.update(ARTIFACT_CHUNKS)
+                        .set(ARTIFACT_CHUNKS.CONTENT, text)
+                        .set(ARTIFACT_CHUNKS.LENGTH, text.length())
+                        .where(ARTIFACT_CHUNKS.ID.eq(group.getFirst()))
+                        .execute();
+                tx.deleteFrom(ARTIFACT_CHUNKS)
+                        .where(ARTIFACT_CHUNKS.ID.in(group.subList(1, group.size())))
+                        .execute();
+            }
+        });
+    }
+
+    /**
+     * Reads chunks a page at a time, keyed by character position rather than by chunk id, so a compaction that
+     * merges rows between two pages does not change what the reader sees.
+     */
+    private class ChunkInputStream extends InputStream {
+
+        private final UUID artifactId;
+        private final List<String> page = new ArrayList<>();
+        private long position;
+        private boolean exhausted;
+        private InputStream current = InputStream.nullInputStream();
+
+        ChunkInputStream(UUID artifactId, long position) {
+            this.artifactId = artifactId;
+            this.position = position;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final var single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            int n;
+            while ((n = current.read(buffer, offset, length)) < 0) {
+                if (!advance()) {
+                    return -1;
+                }
+            }
+            return n;
+        }
+
+        private boolean advance() {
+            if (page.isEmpty()) {
+                if (exhausted) {
+                    return false;
+                }
+                fetchPage();
+                if (page.isEmpty()) {
+                    return false;
+                }
+            }
+            current = new ByteArrayInputStream(page.removeFirst().getBytes(StandardCharsets.UTF_8));
+            return true;
+        }
+
+        private void fetchPage() {
+            var rows = context.select(ARTIFACT_CHUNKS.START_OFFSET, ARTIFACT_CHUNKS.LENGTH, ARTIFACT_CHUNKS.CONTENT)
+                    .from(ARTIFACT_CHUNKS)
+                    .where(ARTIFACT_CHUNKS.ARTIFACT_ID.eq(artifactId))
+                    .and(ARTIFACT_CHUNKS.START_OFFSET.plus(ARTIFACT_CHUNKS.LENGTH).gt(val(position)))
+                    .orderBy(ARTIFACT_CHUNKS.START_OFFSET.asc())
+                    .limit(PAGE_SIZE)
+                    .fetch();
+            exhausted = rows.size() < PAGE_SIZE;
+            for (var row : rows) {
+                var text = row.value3();
+                // a merged chunk may start before what was already read
+                final var skip = (int) Math.max(0, position - row.value1());
+                page.add(text.substring(skip));
+                position = row.value1() + row.value2();
+            }
+        }
+    }
+}
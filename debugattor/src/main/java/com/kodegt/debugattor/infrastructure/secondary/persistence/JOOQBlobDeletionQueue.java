@@ -0,0 +1,145 @@
+package com.kodegt.debugattor.infrastructure.secondary.persistence;
+
+import com.kodegt.debugattor.domain.storage.Blob;
+import com.kodegt.debugattor.domain.storage.BlobDeletionQueue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.Record2;
+import org.jooq.Result;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.jooq.generated.Tables.BLOBS;
+import static org.jooq.generated.Tables.BLOB_DELETIONS;
+import static org.jooq.impl.DSL.exists;
+import static org.jooq.impl.DSL.select;
+import static org.jooq.impl.DSL.selectOne;
+
+/**
+ * Rows are claimed with a lease in a short transaction, and plain objects are removed after it commits, so bucket
+ * storage latency never holds row locks for them. A drain that dies mid-way leaves its rows to be claimed again once
+ * the lease runs out. Every claim counts as an attempt; rows that reach {@code max-attempts} are no longer claimed
+ * and stay in the table as dead letters.
+ * <p>
+ * Content-addressed blob objects are the exception: a new upload may have brought the blob back, so each one is
+ * checked and removed inside a transaction holding the lock an upload takes to attach it. That transaction keeps
+ * a connection and blocks attaching the same object while bucket storage answers, one object at a time, for at
+ * most {@code storage.cleanup.removal-timeout}; past it Postgres ends the session and the row is retried once its
+ * lease runs out.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+class JOOQBlobDeletionQueue implements BlobDeletionQueue {
+
+    private final DSLContext context;
+
+    @Value("${storage.cleanup.lease:5m}")
+    private Duration lease;
+
+    @Value("${storage.cleanup.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${storage.cleanup.removal-timeout:30s}")
+    private Duration removalTimeout;
+
+    @Override
+    public int drain(int limit, Function<List<String>, Collection<String>> removeObjects) {
+        var claimed = claim(limit);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        var names = claimed.getValues(BLOB_DELETIONS.OBJECT_NAME);
+        var plain = names.stream().filter(name -> !Blob.isBlobObject(name)).toList();
+        var failed = new HashSet<String>(plain.isEmpty() ? List.of() : removeObjects.apply(plain));
+        for (var name : names) {
+            if (!Blob.isBlobObject(name)) {
+                continue;
+            }
+            try {
+                if (!removeUnlessAttached(name, removeObjects)) {
+                    failed.add(name);
+                }
+            } catch (DataAccessException e) {
+                log.warn("Could not remove {}, will retry", name, e);
+                failed.add(name);
+            }
+        }
+        var removedIds = claimed.stream()
+                .filter(r -> !failed.contains(r.value2()))
+                .map(Record2::value1)
+                .toList();
+        var failedIds = claimed.stream()
+                .filter(r -> failed.contains(r.value2()))
+                .map(Record2::value1)
+                .toList();
+
+        context.deleteFrom(BLOB_DELETIONS)
+                .where(BLOB_DELETIONS.ID.in(removedIds))
+                .execute();
+        // failed rows keep their lease, so they are retried once it runs out rather than on the next tick
+        if (!failedIds.isEmpty()) {
+            var abandoned = context.select(BLOB_DELETIONS.OBJECT_NAME)
+                    .from(BLOB_DELETIONS)
+                    .where(BLOB_DELETIONS.ID.in(failedIds))
+                    .and(BLOB_DELETIONS.ATTEMPTS.ge(maxAttempts))
+                    .fetch(BLOB_DELETIONS.OBJECT_NAME);
+            if (!abandoned.isEmpty()) {
+                log.warn("Giving up on {} objects after {} attempts: {}", abandoned.size(), maxAttempts, abandoned);
+            }
+        }
+        return removedIds.size();
+    }
+
+    private boolean removeUnlessAttached(String objectName, Function<List<String>, Collection<String>> removeObjects) {
+        return context.transactionResult(configuration -> {
+            var tx = DSL.using(configuration);
+            // the time between statements is the bucket call; SET takes no bind values, so the number is inlined
+            tx.execute("set local idle_in_transaction_session_timeout = " + removalTimeout.toMillis());
+            ObjectLocks.lock(tx, objectName);
+            if (tx.fetchExists(BLOBS, BLOBS.OBJECT_NAME.eq(objectName))) {
+                // uploaded again since it was queued; the row goes, the object stays
+                return true;
+            }
+            return removeObjects.apply(List.of(objectName)).isEmpty();
+        });
+    }
+
+    private Result<Record2<Long, String>> claim(int limit) {
+        var now = OffsetDateTime.now();
+        return context.transactionResult(configuration -> {
+            var tx = DSL.using(configuration);
+            // An object whose blob was recreated by a new upload after being queued must be kept
+            tx.deleteFrom(BLOB_DELETIONS)
+                    .where(exists(selectOne().from(BLOBS).where(BLOBS.OBJECT_NAME.eq(BLOB_DELETIONS.OBJECT_NAME))))
+                    .execute();
+
+            // SKIP LOCKED lets several instances claim concurrently without handing out the same rows
+            var claimable = select(BLOB_DELETIONS.ID)
+                    .from(BLOB_DELETIONS)
+                    .where(BLOB_DELETIONS.ATTEMPTS.lt(maxAttempts))
+                    .and(BLOB_DELETIONS.CLAIMED_UNTIL.isNull().or(BLOB_DELETIONS.CLAIMED_UNTIL.lt(now)))
+                    .orderBy(BLOB_DELETIONS.ATTEMPTS.asc(), BLOB_DELETIONS.ID.asc())
+                    .limit(limit)
+                    .forUpdate()
+                    .skipLocked();
+            return tx.update(BLOB_DELETIONS)
+                    .set(BLOB_DELETIONS.CLAIMED_UNTIL, now.plus(lease))
+                    .set(BLOB_DELETIONS.ATTEMPTS, BLOB_DELETIONS.ATTEMPTS.plus(1))
+                    .where(BLOB_DELETIONS.ID.in(claimable))
+                    .returningResult(BLOB_DELETIONS.ID, BLOB_DELETIONS.OBJECT_NAME)
+                    .fetch();
+        });
+    }
+}
@@ -0,0 +1,89 @@
+package com.kodegt.debugattor.infrastructure.secondary.persistence;
+
+import com.kodegt.debugattor.domain.storage.Blob;
+import com.kodegt.debugattor.domain.storage.BlobRepository;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.jooq.Record1;
+import org.jooq.Record2;
+import org.jooq.Records;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.jooq.generated.Tables.ARTIFACTS;
+import static org.jooq.generated.Tables.BLOBS;
+import static org.jooq.generated.Tables.BLOB_DELETIONS;
+
+@Repository
+@RequiredArgsConstructor
+class JOOQBlobRepository implements BlobRepository {
+
+    private final DSLContext context;
+
+    @Override
+    public Optional<Blob> findByDigest(String digest) {
+        return context.select(BLOBS.DIGEST, BLOBS.OBJECT_NAME)
+                .from(BLOBS)
+                .where(BLOBS.DIGEST.eq(digest))
+                .fetchOptional(Records.mapping(Blob::new));
+    }
+
+    @Override
+    public boolean attach(UUID artifactId, Blob blob, String url) {
+        return context.transactionResult(configuration -> {
+            var tx = DSL.using(configuration);
+            ObjectLocks.lock(tx, blob.objectName());
+            var previous = tx.select(ARTIFACTS.BLOB_DIGEST)
+                    .from(ARTIFACTS)
+                    .where(ARTIFACTS.ID.eq(artifactId))
+                    .forUpdate()
+                    .fetchOptional(Record1::value1)
+                    .orElse(null);
+            if (blob.digest().equals(previous)) {
+                return false;
+            }
+            // one statement, so a concurrent delete of the last reference cannot leave nothing to count on;
+            // xmax is 0 only on a freshly inserted row
+            var created = tx.insertInto(BLOBS, BLOBS.DIGEST, BLOBS.OBJECT_NAME, BLOBS.REF_COUNT)
+                    .values(blob.digest(), blob.objectName(), 1)
+                    .onConflict(BLOBS.DIGEST)
+                    .doUpdate()
+                    .set(BLOBS.REF_COUNT, BLOBS.REF_COUNT.plus(1))
+                    .returningResult(DSL.field("xmax = 0", SQLDataType.BOOLEAN))
+                    .fetchOne(Record1::value1);
+            tx.update(ARTIFACTS)
+                    .set(ARTIFACTS.BLOB_DIGEST, blob.digest())
+                    .set(ARTIFACTS.CONTENT, url)
+                    .where(ARTIFACTS.ID.eq(artifactId))
+                    .execute();
+            if (previous != null) {
+                release(tx, previous);
+            }
+            ExecutionVersions.bumpForArtifact(tx, artifactId);
+            return Boolean.TRUE.equals(created);
+        });
+    }
+
+    // same bookkeeping as deleting an execution: the last reference queues the object for removal
+    private static void release(DSLContext tx, String digest) {
+        var orphaned = tx.update(BLOBS)
+                .set(BLOBS.REF_COUNT, BLOBS.REF_COUNT.minus(1))
+                .where(BLOBS.DIGEST.eq(digest))
+                .returningResult(BLOBS.OBJECT_NAME, BLOBS.REF_COUNT)
+                .fetchOptional()
+                .filter(released -> released.value2() <= 0)
+                .map(Record2::value1);
+        if (orphaned.isPresent()) {
+            tx.insertInto(BLOB_DELETIONS, BLOB_DELETIONS.OBJECT_NAME)
+                    .values(orphaned.get())
+                    .execute();
+            tx.deleteFrom(BLOBS)
+                    .where(BLOBS.DIGEST.eq(digest))
+                    .execute();
+        }
+    }
+}
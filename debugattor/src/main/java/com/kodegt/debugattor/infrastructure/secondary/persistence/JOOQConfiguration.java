@@ -7,6 +7,7 @@ import org.jooq.conf.RenderQuotedNames;
 import org.jooq.conf.Settings;
 import org.jooq.impl.DefaultConfiguration;
 import org.jooq.impl.DefaultDSLContext;
+import org.jooq.impl.DefaultExecuteListenerProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,6 +22,9 @@ public class JOOQConfiguration {
     @Autowired
     private DataSource dataSource;
 
+    @Autowired
+    private QueryMetricsListener queryMetricsListener;
+
     @Bean
     DSLContext dsl() {
         return new DefaultDSLContext(dslConfig());
@@ -36,8 +40,8 @@ public class JOOQConfiguration {
         final var defaultConfiguration = new DefaultConfiguration();
         defaultConfiguration.set(dataSource)
                 .set(SQLDialect.POSTGRES)
-                .set(settings);
-//                .set(DefaultExecuteListenerProvider.providers(new QueryRuntimeListener()))
+                .set(settings)
+                .set(DefaultExecuteListenerProvider.providers(queryMetricsListener));
         return defaultConfiguration;
     }
 
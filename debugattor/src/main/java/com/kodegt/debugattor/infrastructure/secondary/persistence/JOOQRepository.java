@@ -1,24 +1,41 @@
 package com.kodegt.debugattor.infrastructure.secondary.persistence;
 
 import com.kodegt.debugattor.domain.artifact.Artifact;
+import com.kodegt.debugattor.domain.artifact.ArtifactRejectedException;
 import com.kodegt.debugattor.domain.artifact.ArtifactRepository;
 import com.kodegt.debugattor.domain.execution.Execution;
 import com.kodegt.debugattor.domain.execution.ExecutionNotFoundException;
 import com.kodegt.debugattor.domain.execution.ExecutionRepository;
+import com.kodegt.debugattor.domain.execution.ExecutionSummary;
+import com.kodegt.debugattor.domain.execution.ExecutionVersion;
+import com.kodegt.debugattor.domain.pagination.Cursor;
+import com.kodegt.debugattor.domain.pagination.CursorPage;
 import com.kodegt.debugattor.domain.step.Step;
 import com.kodegt.debugattor.domain.step.StepNotFoundException;
 import com.kodegt.debugattor.domain.step.StepRepository;
 import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.util.Strings;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.jooq.Field;
+import org.jooq.Record1;
+import org.jooq.Record7;
 import org.jooq.Records;
+import org.jooq.SelectJoinStep;
 import org.jooq.exception.DataAccessException;
+import org.jooq.exception.SQLStateClass;
+import org.jooq.impl.SQLDataType;
 import org.jooq.SortField;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -31,7 +48,14 @@ import static org.jooq.impl.DSL.*;
 @RequiredArgsConstructor
 class JOOQRepository implements ExecutionRepository, StepRepository, ArtifactRepository {
 
+    // Must render as id::text to match idx_executions_id_text
+    private static final Field<String> EXECUTION_ID_TEXT = EXECUTIONS.ID.cast(SQLDataType.CLOB);
+
     private final DSLContext context;
+    private final ContentCodec contentCodec;
+
+    @Value("${ingest.batch-size:500}")
+    private int batchSize;
 
     @Override
     public Execution create() {
@@ -48,20 +72,7 @@ class JOOQRepository implements ExecutionRepository, StepRepository, ArtifactRep
 
     @Override
     public List<Execution> findAll(Pageable pageable) {
-        return context.select(asterisk(),
-                        multiset(select(
-                                STEPS.ID,
-                                STEPS.NAME,
-                                STEPS.STATUS,
-                                artifactsMultiset(),
-                                STEPS.REGISTERED_AT,
-                                STEPS.COMPLETED_AT)
-                                .from(STEPS)
-                                .where(STEPS.EXECUTION_ID.eq(EXECUTIONS.ID))
-                                .orderBy(STEPS.REGISTERED_AT.asc(), STEPS.ID.asc()))
-                                .as("steps")
-                                .convertFrom(rs -> rs.map(Records.mapping(Step::load)))
-                )
+        return context.select(asterisk(), stepsMultiset())
                 .from(EXECUTIONS)
                 .orderBy(getSortFields(pageable.getSort()))
                 .limit(pageable.getPageSize())
@@ -71,35 +82,106 @@ class JOOQRepository implements ExecutionRepository, StepRepository, ArtifactRep
 
     @Override
     public List<Execution> findAll(String id, Pageable pageable) {
-        var query = context.select(asterisk(),
-                        multiset(select(
-                                STEPS.ID,
-                                STEPS.NAME,
-                                STEPS.STATUS,
-                                artifactsMultiset(),
-                                STEPS.REGISTERED_AT,
-                                STEPS.COMPLETED_AT)
-                                .from(STEPS)
-                                .where(STEPS.EXECUTION_ID.eq(EXECUTIONS.ID))
-                                .orderBy(STEPS.REGISTERED_AT.asc(), STEPS.ID.asc()))
-                                .as("steps")
-                                .convertFrom(rs -> rs.map(Records.mapping(Step::load)))
-                )
-                .from(EXECUTIONS);
-
-        if (Strings.isNotBlank(id)) {
-            query.where(EXECUTIONS.ID.cast(String.class).likeIgnoreCase("%" + id + "%"));
-        }
-
-        return query.orderBy(getSortFields(pageable.getSort()))
+        return context.select(asterisk(), stepsMultiset())
+                .from(EXECUTIONS)
+                .where(idMatches(id))
+                .orderBy(getSortFields(pageable.getSort()))
                 .limit(pageable.getPageSize())
                 .offset(pageable.getOffset())
                 .fetchInto(Execution.class);
     }
 
+    @Override
+    public CursorPage<Execution> findAll(Cursor after, int limit) {
+        var executions = context.select(asterisk(), stepsMultiset())
+                .from(EXECUTIONS)
+                .where(startedBefore(after))
+                .orderBy(EXECUTIONS.STARTED_AT.desc(), EXECUTIONS.ID.desc())
+                .limit(limit + 1)
+                .fetchInto(Execution.class);
+
+        return CursorPage.of(executions, limit, execution -> Cursor.of(execution.startedAt(), execution.id()));
+    }
+
+    @Override
+    public List<ExecutionSummary> findSummaries(String id, Pageable pageable) {
+        return selectSummaries()
+                .where(idMatches(id))
+                .orderBy(getSortFields(pageable.getSort()))
+                .limit(pageable.getPageSize())
+                .offset(pageable.getOffset())
+                .fetch(Records.mapping(ExecutionSummary::load));
+    }
+
+    @Override
+    public CursorPage<ExecutionSummary> findSummaries(String id, Cursor after, int limit) {
+        var summaries = selectSummaries()
+                .where(idMatches(id))
+                .and(startedBefore(after))
+                .orderBy(EXECUTIONS.STARTED_AT.desc(), EXECUTIONS.ID.desc())
+                .limit(limit + 1)
+                .fetch(Records.mapping(ExecutionSummary::load));
+
+        return CursorPage.of(summaries, limit, summary -> Cursor.of(summary.startedAt(), summary.id()));
+    }
+
+    @Override
+    public Optional<ExecutionSummary> findSummaryById(UUID id) {
+        return selectSummaries()
+                .where(EXECUTIONS.ID.eq(id))
+                .fetchOptional(Records.mapping(ExecutionSummary::load));
+    }
+
+    private SelectJoinStep<Record7<UUID, String, OffsetDateTime, OffsetDateTime, Integer, Integer, Integer>> selectSummaries() {
+        var stepCounts = select(
+                count().filterWhere(STEPS.STATUS.eq(Step.Status.COMPLETED.name())).as("completed_steps"),
+                count().filterWhere(STEPS.STATUS.eq(Step.Status.RUNNING.name())).as("running_steps"),
+                count().filterWhere(STEPS.STATUS.eq(Step.Status.FAILED.name())).as("failed_steps"))
+                .from(STEPS)
+                .where(STEPS.EXECUTION_ID.eq(EXECUTIONS.ID))
+                .asTable("step_counts");
+
+        return context.select(
+                        EXECUTIONS.ID,
+                        EXECUTIONS.STATUS,
+                        EXECUTIONS.STARTED_AT,
+                        EXECUTIONS.FINISHED_AT,
+                        stepCounts.field("completed_steps", Integer.class),
+                        stepCounts.field("running_steps", Integer.class),
+                        stepCounts.field("failed_steps", Integer.class))
+                .from(EXECUTIONS)
+                .crossJoin(lateral(stepCounts));
+    }
+
+    private static Condition idMatches(String id) {
+        if (Strings.isBlank(id)) {
+            return noCondition();
+        }
+        String prefix = id.trim().toLowerCase();
+        if (!prefix.matches("[0-9a-f-]+")) {
+            return falseCondition();
+        }
+        // inlined so the planner sees a constant prefix and can use the text_pattern_ops index
+        return EXECUTION_ID_TEXT.like(inline(prefix + "%"));
+    }
+
+    // Seek predicate for the default (started_at desc, id desc) ordering
+    private static Condition startedBefore(Cursor after) {
+        if (after == null) {
+            return noCondition();
+        }
+        return row(EXECUTIONS.STARTED_AT, EXECUTIONS.ID).lt(after.offsetPosition(), after.id());
+    }
+
+    // Stored URLs end with the object name
+    private static Field<String> objectName(Field<String> url) {
+        return regexpReplaceAll(url, "^.*/", "");
+    }
+
     private Collection<SortField<?>> getSortFields(Sort sort) {
         if (sort.isUnsorted()) {
-            return List.of(EXECUTIONS.STARTED_AT.desc());
+            // id breaks ties so offset pages line up with keyset pages
+            return List.of(EXECUTIONS.STARTED_AT.desc(), EXECUTIONS.ID.desc());
         }
 
         return sort.stream()
@@ -116,48 +198,80 @@ class JOOQRepository implements ExecutionRepository, StepRepository, ArtifactRep
 
     @Override
     public Optional<Execution> findById(UUID id) {
-        return context.select(asterisk(),
-                        multiset(select(
-                                STEPS.ID,
-                                STEPS.NAME,
-                                STEPS.STATUS,
-                                artifactsMultiset(),
-                                STEPS.REGISTERED_AT,
-                                STEPS.COMPLETED_AT)
-                                .from(STEPS)
-                                .where(STEPS.EXECUTION_ID.eq(EXECUTIONS.ID))
-                                .orderBy(STEPS.REGISTERED_AT.asc(), STEPS.ID.asc()))
-                                .as("steps")
-                                .convertFrom(rs -> rs.map(Records.mapping(Step::load)))
-                )
+        return context.select(asterisk(), stepsMultiset())
                 .from(EXECUTIONS)
                 .where(EXECUTIONS.ID.eq(id))
                 .fetchOptionalInto(Execution.class);
     }
 
+    @Override
+    public Optional<Long> findVersion(UUID id) {
+        return context.select(EXECUTIONS.VERSION)
+                .from(EXECUTIONS)
+                .where(EXECUTIONS.ID.eq(id))
+                .fetchOptional(EXECUTIONS.VERSION);
+    }
+
+    @Override
+    public List<ExecutionVersion> findVersions(Cursor after, int limit) {
+        // same rows and order as findAll(Cursor, int), without the steps
+        return context.select(EXECUTIONS.ID, EXECUTIONS.VERSION)
+                .from(EXECUTIONS)
+                .where(startedBefore(after))
+                .orderBy(EXECUTIONS.STARTED_AT.desc(), EXECUTIONS.ID.desc())
+                .limit(limit + 1)
+                .fetch(Records.mapping(ExecutionVersion::new));
+    }
+
+    private Field<List<Step>> stepsMultiset() {
+        return multiset(select(
+                        STEPS.ID,
+                        STEPS.NAME,
+                        STEPS.STATUS,
+                        artifactsMultiset(),
+                        STEPS.REGISTERED_AT,
+                        STEPS.COMPLETED_AT)
+                        .from(STEPS)
+                        .where(STEPS.EXECUTION_ID.eq(EXECUTIONS.ID))
+                        .orderBy(STEPS.REGISTERED_AT.asc(), STEPS.ID.asc()))
+                .as("steps")
+                .convertFrom(rs -> rs.map(Records.mapping(Step::load)));
+    }
+
     private Field<List<Artifact>> artifactsMultiset() {
         return multiset(
-                select(ARTIFACTS.ID, ARTIFACTS.TYPE, ARTIFACTS.DESCRIPTION, ARTIFACTS.CONTENT, ARTIFACTS.LOGGED_AT)
+                select(ARTIFACTS.ID, ARTIFACTS.TYPE, ARTIFACTS.DESCRIPTION, ARTIFACTS.CONTENT, ARTIFACTS.LOGGED_AT, ARTIFACTS.THUMBNAIL_URL, ARTIFACTS.PREVIEW_URL, ARTIFACTS.CONTENT_REF, ARTIFACTS.CONTENT_SIZE, ARTIFACTS.CONTENT_COMPRESSED)
                         .from(ARTIFACTS)
                         .where(ARTIFACTS.STEP_ID.eq(STEPS.ID))
-                        .orderBy(ARTIFACTS.LOGGED_AT.asc()))
+                        .orderBy(ARTIFACTS.LOGGED_AT.asc(), ARTIFACTS.ID.asc()))
                 .convertFrom(rs -> rs.map(
-                        Records.mapping(Artifact::newArtifact)))
+                        Records.mapping(this::restoredArtifact)))
                 .as("artifacts");
     }
 
+    // Executions and artifact pages return bodies that were only compressed whole, as they were logged
+    private Artifact restoredArtifact(UUID id, String type, String description, String content, OffsetDateTime loggedAt,
+                                      String thumbnailUrl, String previewUrl, String contentRef, Long contentSize, byte[] compressed) {
+        return contentCodec.restore(Artifact.newArtifact(id, type, description, content, loggedAt, thumbnailUrl, previewUrl, contentRef, contentSize), compressed);
+    }
+
     @Override
     public Step register(UUID executionId, Step step) {
         try {
-            var record = context.insertInto(STEPS)
-                    .set(STEPS.EXECUTION_ID, executionId)
-                    .set(STEPS.NAME, step.name())
-                    .set(STEPS.STATUS, step.status().name())
-                    .returningResult(asterisk())
-                    .fetchOne();
-            if (record == null) {
-                throw new DataAccessException("Failed to insert Step");
-            }
+            var record = context.transactionResult(configuration -> {
+                var tx = using(configuration);
+                var inserted = tx.insertInto(STEPS)
+                        .set(STEPS.EXECUTION_ID, executionId)
+                        .set(STEPS.NAME, step.name())
+                        .set(STEPS.STATUS, step.status().name())
+                        .returningResult(asterisk())
+                        .fetchOne();
+                if (inserted == null) {
+                    throw new DataAccessException("Failed to insert Step");
+                }
+                ExecutionVersions.bump(tx, executionId);
+                return inserted;
+            });
             return Step.load(
                 record.get(STEPS.ID),
                 record.get(STEPS.NAME),
@@ -176,95 +290,294 @@ class JOOQRepository implements ExecutionRepository, StepRepository, ArtifactRep
 
     @Override
     public void setCompleted(UUID stepId) {
-        context.update(STEPS)
-                .set(STEPS.STATUS, Step.Status.COMPLETED.name())
-                .set(STEPS.COMPLETED_AT, currentOffsetDateTime())
-                .where(STEPS.ID.eq(stepId))
-                .execute();
+        context.transaction(configuration -> {
+            var tx = using(configuration);
+            tx.update(STEPS)
+                    .set(STEPS.STATUS, Step.Status.COMPLETED.name())
+                    .set(STEPS.COMPLETED_AT, currentOffsetDateTime())
+                    .where(STEPS.ID.eq(stepId))
+                    .execute();
+            ExecutionVersions.bumpForStep(tx, stepId);
+        });
     }
 
     @Override
     public void setFailed(UUID stepId) {
-        context.update(STEPS)
-                .set(STEPS.STATUS, Step.Status.FAILED.name())
-                .set(STEPS.COMPLETED_AT, currentOffsetDateTime())
+        context.transaction(configuration -> {
+            var tx = using(configuration);
+            tx.update(STEPS)
+                    .set(STEPS.STATUS, Step.Status.FAILED.name())
+                    .set(STEPS.COMPLETED_AT, currentOffsetDateTime())
+                    .where(STEPS.ID.eq(stepId))
+                    .execute();
+            ExecutionVersions.bumpForStep(tx, stepId);
+        });
+    }
+
+    @Override
+    public CursorPage<Step> findByExecutionId(UUID executionId, Cursor after, int limit) {
+        var condition = STEPS.EXECUTION_ID.eq(executionId);
+        if (after != null) {
+            condition = condition.and(row(STEPS.REGISTERED_AT, STEPS.ID).gt(after.offsetPosition(), after.id()));
+        }
+
+        // artifacts are paged separately, so they are left unloaded here
+        var steps = context.select(STEPS.ID, STEPS.NAME, STEPS.STATUS, STEPS.REGISTERED_AT, STEPS.COMPLETED_AT)
+                .from(STEPS)
+                .where(condition)
+                .orderBy(STEPS.REGISTERED_AT.asc(), STEPS.ID.asc())
+                .limit(limit + 1)
+                .fetch(r -> Step.load(r.value1(), r.value2(), r.value3(), null, r.value4(), r.value5()));
+
+        return CursorPage.of(steps, limit, step -> new Cursor(step.registeredAt(), step.id()));
+    }
+
+    @Override
+    public Optional<UUID> findExecutionId(UUID stepId) {
+        return context.select(STEPS.EXECUTION_ID)
+                .from(STEPS)
                 .where(STEPS.ID.eq(stepId))
-                .execute();
+                .fetchOptional(STEPS.EXECUTION_ID);
     }
 
     @Override
-    public Artifact log(UUID stepId, Artifact.Type type, String description, String content) {
+    public Artifact log(UUID stepId, Artifact artifact) {
+        final var stored = contentCodec.encode(artifact);
         try {
-            return context.insertInto(ARTIFACTS)
-                    .set(ARTIFACTS.STEP_ID, stepId)
-                    .set(ARTIFACTS.TYPE, type.name())
-                    .set(ARTIFACTS.DESCRIPTION, description)
-                    .set(ARTIFACTS.CONTENT, content)
-                    .returningResult(asterisk())
-                    .fetchOneInto(Artifact.class);
+            return context.transactionResult(configuration -> {
+                var tx = using(configuration);
+                var logged = tx.insertInto(ARTIFACTS)
+                        .set(ARTIFACTS.STEP_ID, stepId)
+                        .set(ARTIFACTS.TYPE, artifact.type().name())
+                        .set(ARTIFACTS.DESCRIPTION, artifact.description())
+                        .set(ARTIFACTS.CONTENT, stored.content())
+                        .set(ARTIFACTS.CONTENT_COMPRESSED, stored.compressed())
+                        .set(ARTIFACTS.CONTENT_REF, artifact.contentRef())
+                        .set(ARTIFACTS.CONTENT_SIZE, stored.size())
+                        .returningResult(ARTIFACTS.ID, ARTIFACTS.TYPE, ARTIFACTS.DESCRIPTION, ARTIFACTS.CONTENT, ARTIFACTS.LOGGED_AT, ARTIFACTS.THUMBNAIL_URL, ARTIFACTS.PREVIEW_URL, ARTIFACTS.CONTENT_REF, ARTIFACTS.CONTENT_SIZE)
+                        .fetchOne(Records.mapping(Artifact::newArtifact));
+                ExecutionVersions.bumpForStep(tx, stepId);
+                return logged;
+            });
         } catch (DataAccessException dae) {
             if (isForeignKeyViolation(dae)) {
                 throw new StepNotFoundException(stepId);
             }
+            if (isRejectedData(dae)) {
+                throw new ArtifactRejectedException(stepId, dae);
+            }
             throw dae;
         }
     }
 
+    @Override
+    public List<Artifact> logAll(UUID stepId, List<Artifact> artifacts) {
+        try {
+            return context.transactionResult(configuration -> {
+                var tx = using(configuration);
+                var logged = new ArrayList<Artifact>(artifacts.size());
+                // each row binds 9 parameters, so one statement for a huge batch would pass Postgres' 65535 limit
+                for (int from = 0; from < artifacts.size(); from += batchSize) {
+                    logged.addAll(insertArtifacts(tx, stepId, artifacts.subList(from, Math.min(from + batchSize, artifacts.size()))));
+                }
+                // one bump for the whole batch
+                ExecutionVersions.bumpForStep(tx, stepId);
+                return logged;
+            });
+        } catch (DataAccessException dae) {
+            if (isForeignKeyViolation(dae)) {
+                throw new StepNotFoundException(stepId);
+            }
+            if (isRejectedData(dae)) {
+                throw new ArtifactRejectedException(stepId, dae);
+            }
+            throw dae;
+        }
+    }
+
+    private List<Artifact> insertArtifacts(DSLContext tx, UUID stepId, List<Artifact> artifacts) {
+        var insert = tx.insertInto(ARTIFACTS, ARTIFACTS.ID, ARTIFACTS.STEP_ID, ARTIFACTS.TYPE, ARTIFACTS.DESCRIPTION, ARTIFACTS.CONTENT, ARTIFACTS.LOGGED_AT, ARTIFACTS.CONTENT_REF, ARTIFACTS.CONTENT_SIZE, ARTIFACTS.CONTENT_COMPRESSED);
+        for (Artifact artifact : artifacts) {
+            final var stored = contentCodec.encode(artifact);
+            // pre-allocated ids and timestamps (write-behind) are kept, otherwise the column defaults apply
+            insert = insert.values(
+                    artifact.id() == null ? defaultValue(ARTIFACTS.ID) : val(artifact.id(), ARTIFACTS.ID),
+                    val(stepId, ARTIFACTS.STEP_ID),
+                    val(artifact.type().name(), ARTIFACTS.TYPE),
+                    val(artifact.description(), ARTIFACTS.DESCRIPTION),
+                    val(stored.content(), ARTIFACTS.CONTENT),
+                    artifact.loggedAt() == null ? defaultValue(ARTIFACTS.LOGGED_AT) : val(artifact.loggedAt(), ARTIFACTS.LOGGED_AT),
+                    val(artifact.contentRef(), ARTIFACTS.CONTENT_REF),
+                    val(stored.size(), ARTIFACTS.CONTENT_SIZE),
+                    val(stored.compressed(), ARTIFACTS.CONTENT_COMPRESSED));
+        }
+        return insert
+                .returningResult(ARTIFACTS.ID, ARTIFACTS.TYPE, ARTIFACTS.DESCRIPTION, ARTIFACTS.CONTENT, ARTIFACTS.LOGGED_AT, ARTIFACTS.THUMBNAIL_URL, ARTIFACTS.PREVIEW_URL, ARTIFACTS.CONTENT_REF, ARTIFACTS.CONTENT_SIZE)
+                .fetch(Records.mapping(Artifact::newArtifact));
+    }
+
     @Override
     public Artifact createWithoutUrl(UUID stepId, Artifact.Type type, String description) {
-        var record = context.insertInto(ARTIFACTS)
-                .set(ARTIFACTS.STEP_ID, stepId)
-                .set(ARTIFACTS.TYPE, type.name())
-                .set(ARTIFACTS.DESCRIPTION, description)
-                .set(ARTIFACTS.CONTENT, Strings.EMPTY)
-                .returningResult(ARTIFACTS.ID, ARTIFACTS.TYPE, ARTIFACTS.DESCRIPTION, ARTIFACTS.CONTENT, ARTIFACTS.LOGGED_AT)
-                .fetchOne();
-        return Artifact.newArtifact(
-                record.get(ARTIFACTS.ID),
-                record.get(ARTIFACTS.TYPE),
-                record.get(ARTIFACTS.DESCRIPTION),
-                record.get(ARTIFACTS.CONTENT),
-                record.get(ARTIFACTS.LOGGED_AT)
-        );
+        try {
+            var record = context.transactionResult(configuration -> {
+                var tx = using(configuration);
+                var inserted = tx.insertInto(ARTIFACTS)
+                        .set(ARTIFACTS.STEP_ID, stepId)
+                        .set(ARTIFACTS.TYPE, type.name())
+                        .set(ARTIFACTS.DESCRIPTION, description)
+                        .set(ARTIFACTS.CONTENT, Strings.EMPTY)
+                        .returningResult(ARTIFACTS.ID, ARTIFACTS.TYPE, ARTIFACTS.DESCRIPTION, ARTIFACTS.CONTENT, ARTIFACTS.LOGGED_AT, ARTIFACTS.THUMBNAIL_URL, ARTIFACTS.PREVIEW_URL, ARTIFACTS.CONTENT_REF, ARTIFACTS.CONTENT_SIZE)
+                        .fetchOne();
+                ExecutionVersions.bumpForStep(tx, stepId);
+                return inserted;
+            });
+            return Artifact.newArtifact(
+                    record.get(ARTIFACTS.ID),
+                    record.get(ARTIFACTS.TYPE),
+                    record.get(ARTIFACTS.DESCRIPTION),
+                    record.get(ARTIFACTS.CONTENT),
+                    record.get(ARTIFACTS.LOGGED_AT),
+                    record.get(ARTIFACTS.THUMBNAIL_URL),
+                    record.get(ARTIFACTS.PREVIEW_URL),
+                    record.get(ARTIFACTS.CONTENT_REF),
+                    record.get(ARTIFACTS.CONTENT_SIZE)
+            );
+        } catch (DataAccessException dae) {
+            if (isForeignKeyViolation(dae)) {
+                throw new StepNotFoundException(stepId);
+            }
+            throw dae;
+        }
     }
 
     @Override
     public void updateContent(UUID artifactId, String url) {
-        context.update(ARTIFACTS)
-                .set(ARTIFACTS.CONTENT, url)
+        context.transaction(configuration -> {
+            var tx = using(configuration);
+            tx.update(ARTIFACTS)
+                    .set(ARTIFACTS.CONTENT, url)
+                    .where(ARTIFACTS.ID.eq(artifactId))
+                    .execute();
+            ExecutionVersions.bumpForArtifact(tx, artifactId);
+        });
+    }
+
+    @Override
+    public boolean updateRenditions(UUID artifactId, String thumbnailUrl, String previewUrl) {
+        return context.transactionResult(configuration -> {
+            var tx = using(configuration);
+            var updated = tx.update(ARTIFACTS)
+                    .set(ARTIFACTS.THUMBNAIL_URL, thumbnailUrl)
+                    .set(ARTIFACTS.PREVIEW_URL, previewUrl)
+                    .where(ARTIFACTS.ID.eq(artifactId))
+                    .execute() > 0;
+            if (updated) {
+                ExecutionVersions.bumpForArtifact(tx, artifactId);
+            }
+            return updated;
+        });
+    }
+
+    @Override
+    public Optional<Artifact> findById(UUID stepId, UUID artifactId) {
+        return context.select(ARTIFACTS.ID, ARTIFACTS.TYPE, ARTIFACTS.DESCRIPTION, ARTIFACTS.CONTENT, ARTIFACTS.LOGGED_AT, ARTIFACTS.THUMBNAIL_URL, ARTIFACTS.PREVIEW_URL, ARTIFACTS.CONTENT_REF, ARTIFACTS.CONTENT_SIZE)
+                .from(ARTIFACTS)
+                .where(ARTIFACTS.ID.eq(artifactId).and(ARTIFACTS.STEP_ID.eq(stepId)))
+                .fetchOptional(Records.mapping(Artifact::newArtifact));
+    }
+
+    @Override
+    public Optional<InputStream> openContent(UUID artifactId) {
+        // only the compressed body; appended chunks are read separately
+        return context.select(ARTIFACTS.CONTENT, ARTIFACTS.CONTENT_COMPRESSED)
+                .from(ARTIFACTS)
                 .where(ARTIFACTS.ID.eq(artifactId))
-                .execute();
+                .fetchOptional(r -> r.value2() != null
+                        ? contentCodec.decode(r.value2())
+                        : new ByteArrayInputStream(r.value1().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    public CursorPage<Artifact> findByStepId(UUID stepId, Cursor after, int limit) {
+        var condition = ARTIFACTS.STEP_ID.eq(stepId);
+        if (after != null) {
+            condition = condition.and(row(ARTIFACTS.LOGGED_AT, ARTIFACTS.ID).gt(after.offsetPosition(), after.id()));
+        }
+
+        var artifacts = context.select(ARTIFACTS.ID, ARTIFACTS.TYPE, ARTIFACTS.DESCRIPTION, ARTIFACTS.CONTENT, ARTIFACTS.LOGGED_AT, ARTIFACTS.THUMBNAIL_URL, ARTIFACTS.PREVIEW_URL, ARTIFACTS.CONTENT_REF, ARTIFACTS.CONTENT_SIZE, ARTIFACTS.CONTENT_COMPRESSED)
+                .from(ARTIFACTS)
+                .where(condition)
+                .orderBy(ARTIFACTS.LOGGED_AT.asc(), ARTIFACTS.ID.asc())
+                .limit(limit + 1)
+                .fetch(Records.mapping(this::restoredArtifact));
+
+        return CursorPage.of(artifacts, limit, artifact -> Cursor.of(artifact.loggedAt(), artifact.id()));
     }
 
     @Override
     public boolean deleteById(UUID executionId) {
-        var steps = context.select(STEPS.ID)
-                .from(STEPS)
-                .where(STEPS.EXECUTION_ID.eq(executionId))
-                .fetch(STEPS.ID);
+        return context.transactionResult(configuration -> {
+            var tx = using(configuration);
+            var executionArtifacts = ARTIFACTS.join(STEPS).on(ARTIFACTS.STEP_ID.eq(STEPS.ID));
+            var ofExecution = STEPS.EXECUTION_ID.eq(executionId);
+            var ofImages = ofExecution.and(ARTIFACTS.TYPE.eq(Artifact.Type.IMAGE.name()));
 
-        if (steps.isEmpty()) {
-            var exists = context.fetchExists(EXECUTIONS, EXECUTIONS.ID.eq(executionId));
-            if (!exists) return false;
-        }
+            // shared blobs lose one reference per artifact; they are only removed once nothing points at them
+            var released = select(ARTIFACTS.BLOB_DIGEST, count().as("refs"))
+                    .from(executionArtifacts)
+                    .where(ofExecution.and(ARTIFACTS.BLOB_DIGEST.isNotNull()))
+                    .groupBy(ARTIFACTS.BLOB_DIGEST)
+                    .asTable("released");
+            var releasedDigests = tx.update(BLOBS)
+                    .set(BLOBS.REF_COUNT, BLOBS.REF_COUNT.minus(released.field("refs", Integer.class)))
+                    .from(released)
+                    .where(BLOBS.DIGEST.eq(released.field(ARTIFACTS.BLOB_DIGEST)))
+                    .returningResult(BLOBS.DIGEST)
+                    .fetch(Record1::value1);
 
-        context.deleteFrom(ARTIFACTS)
-                .where(ARTIFACTS.STEP_ID.in(steps))
-                .execute();
-        context.deleteFrom(STEPS)
-                .where(STEPS.EXECUTION_ID.eq(executionId))
-                .execute();
-        int deleted = context.deleteFrom(EXECUTIONS)
-                .where(EXECUTIONS.ID.eq(executionId))
-                .execute();
-        return deleted > 0;
+            // image objects owned by a single artifact, offloaded text bodies and all renditions go to the outbox
+            // in the same transaction; steps and artifacts follow through ON DELETE CASCADE.
+            // Uploads that were never finalized have no URL yet, but their object may exist under the artifact id.
+            tx.insertInto(BLOB_DELETIONS, BLOB_DELETIONS.OBJECT_NAME)
+                    .select(select(when(ARTIFACTS.CONTENT.eq(""), ARTIFACTS.ID.cast(SQLDataType.CLOB))
+                                    .otherwise(objectName(ARTIFACTS.CONTENT)))
+                            .from(executionArtifacts)
+                            .where(ofImages.and(ARTIFACTS.BLOB_DIGEST.isNull()))
+                            .unionAll(select(ARTIFACTS.CONTENT_REF)
+                                    .from(executionArtifacts)
+                                    .where(ofExecution.and(ARTIFACTS.CONTENT_REF.isNotNull())))
+                            .unionAll(select(objectName(ARTIFACTS.THUMBNAIL_URL))
+                                    .from(executionArtifacts)
+                                    .where(ofImages.and(ARTIFACTS.THUMBNAIL_URL.isNotNull())))
+                            .unionAll(select(objectName(ARTIFACTS.PREVIEW_URL))
+                                    .from(executionArtifacts)
+                                    .where(ofImages.and(ARTIFACTS.PREVIEW_URL.isNotNull()))))
+                    .execute();
+
+            var deleted = tx.deleteFrom(EXECUTIONS)
+                    .where(EXECUTIONS.ID.eq(executionId))
+                    .execute() > 0;
+
+            if (!releasedDigests.isEmpty()) {
+                var orphaned = BLOBS.DIGEST.in(releasedDigests).and(BLOBS.REF_COUNT.le(0));
+                tx.insertInto(BLOB_DELETIONS, BLOB_DELETIONS.OBJECT_NAME)
+                        .select(select(BLOBS.OBJECT_NAME).from(BLOBS).where(orphaned))
+                        .execute();
+                tx.deleteFrom(BLOBS)
+                        .where(orphaned)
+                        .execute();
+            }
+            return deleted;
+        });
     }
 
+
     @Override
     public void complete(UUID id) {
         context.update(EXECUTIONS)
                 .set(EXECUTIONS.STATUS, Execution.Status.COMPLETED.name())
                 .set(EXECUTIONS.FINISHED_AT, currentOffsetDateTime())
+                .set(EXECUTIONS.VERSION, EXECUTIONS.VERSION.plus(1))
                 .where(EXECUTIONS.ID.eq(id))
                 .execute();
     }
@@ -274,18 +587,16 @@ class JOOQRepository implements ExecutionRepository, StepRepository, ArtifactRep
         context.update(EXECUTIONS)
                 .set(EXECUTIONS.STATUS, Execution.Status.FAILED.name())
                 .set(EXECUTIONS.FINISHED_AT, currentOffsetDateTime())
+                .set(EXECUTIONS.VERSION, EXECUTIONS.VERSION.plus(1))
                 .where(EXECUTIONS.ID.eq(id))
                 .execute();
     }
 
 
-    @Override
-    public List<String> findImagesByExecutionId(UUID executionId) {
-        return context.select(ARTIFACTS.CONTENT)
-                .from(ARTIFACTS)
-                .join(STEPS).on(ARTIFACTS.STEP_ID.eq(STEPS.ID))
-                .where(STEPS.EXECUTION_ID.eq(executionId).and(ARTIFACTS.TYPE.eq("IMAGE")))
-                .fetch(r -> r.get(ARTIFACTS.CONTENT));
+    // bad values and violated constraints fail the same way every time; connection and lock failures may not
+    private static boolean isRejectedData(DataAccessException dae) {
+        return dae.sqlStateClass() == SQLStateClass.C22_DATA_EXCEPTION
+                || dae.sqlStateClass() == SQLStateClass.C23_INTEGRITY_CONSTRAINT_VIOLATION;
     }
 
     private static boolean isForeignKeyViolation(Throwable t) {
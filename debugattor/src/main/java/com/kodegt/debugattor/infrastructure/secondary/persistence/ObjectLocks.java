@@ -0,0 +1,17 @@
+package com.kodegt.debugattor.infrastructure.secondary.persistence;
+
+import org.jooq.DSLContext;
+
+/**
+ * Transaction-scoped advisory locks keyed by object name. Attaching a blob and removing its object take the same
+ * lock, so a removal cannot slip between a blob row being created and the uploader checking that its object exists.
+ */
+final class ObjectLocks {
+
+    private ObjectLocks() {
+    }
+
+    static void lock(DSLContext tx, String objectName) {
+        tx.execute("select pg_advisory_xact_lock(hashtext(?))", objectName);
+    }
+}
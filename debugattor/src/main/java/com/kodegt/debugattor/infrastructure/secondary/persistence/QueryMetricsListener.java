@@ -0,0 +1,140 @@
+package com.kodegt.debugattor.infrastructure.secondary.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the latency and row count of every statement, tagged with the repository method that issued it, and
+ * logs statements slower than {@code db.slow-query-threshold} with their bind values inlined.
+ */
+@Slf4j
+@Component
+class QueryMetricsListener implements ExecuteListener {
+
+    private static final String STARTED_AT = QueryMetricsListener.class.getName() + ".startedAt";
+    private static final String ROWS = QueryMetricsListener.class.getName() + ".rows";
+    private static final String PERSISTENCE_PACKAGE = QueryMetricsListener.class.getPackageName();
+    // enough to recognise the statement without dumping artifact bodies into the log
+    private static final int MAX_LOGGED_SQL = 4000;
+    // statements with inlined values render differently per call, so the caller lookup has to stay bounded
+    private static final int MAX_CACHED_STATEMENTS = 10_000;
+
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryNanos;
+    private final Cache<String, String> callers = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_STATEMENTS)
+            .build();
+    private final Map<QueryTags, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<QueryTags, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+
+    QueryMetricsListener(MeterRegistry meterRegistry,
+                         @Value("${db.slow-query-threshold:500ms}") Duration slowQueryThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+    }
+
+    @Override
+    public void start(ExecuteContext ctx) {
+        ctx.data(STARTED_AT, System.nanoTime());
+    }
+
+    @Override
+    public void resultEnd(ExecuteContext ctx) {
+        if (ctx.result() != null) {
+            ctx.data(ROWS, ctx.result().size());
+        }
+    }
+
+    @Override
+    public void end(ExecuteContext ctx) {
+        if (!(ctx.data(STARTED_AT) instanceof Long startedAt)) {
+            return;
+        }
+        final var elapsed = System.nanoTime() - startedAt;
+        final var caller = callerOf(ctx);
+        final var type = ctx.type().name().toLowerCase();
+        final var outcome = ctx.exception() == null ? "success" : "error";
+
+        timers.computeIfAbsent(new QueryTags(caller, type, outcome), tags -> Timer.builder("db.query")
+                        .description("Statement latency, fetching included")
+                        .tag("caller", tags.caller())
+                        .tag("type", tags.type())
+                        .tag("outcome", tags.outcome())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(elapsed, TimeUnit.NANOSECONDS);
+
+        // rows fetched for reads, rows affected for writes
+        final var rows = ctx.data(ROWS) instanceof Integer fetched ? fetched : ctx.rows();
+        if (rows >= 0) {
+            rowSummaries.computeIfAbsent(new QueryTags(caller, type, null), tags -> DistributionSummary.builder("db.query.rows")
+                            .description("Rows returned or affected per statement")
+                            .tag("caller", tags.caller())
+                            .tag("type", tags.type())
+                            .register(meterRegistry))
+                    .record(rows);
+        }
+
+        if (elapsed >= slowQueryNanos) {
+            log.warn("Slow query from {} took {} ms: {}", caller, TimeUnit.NANOSECONDS.toMillis(elapsed), boundSql(ctx));
+        }
+    }
+
+    private static String boundSql(ExecuteContext ctx) {
+        final var sql = ctx.query() != null
+                ? DSL.using(ctx.dialect()).renderInlined(ctx.query())
+                : ctx.sql();
+        if (sql == null) {
+            return "<unknown>";
+        }
+        return sql.length() > MAX_LOGGED_SQL ? sql.substring(0, MAX_LOGGED_SQL) + "..." : sql;
+    }
+
+    // the same statement text comes from the same repository method, so the stack is only walked once per statement
+    private String callerOf(ExecuteContext ctx) {
+        final var sql = ctx.sql();
+        return sql == null ? caller() : callers.get(sql, ignored -> caller());
+    }
+
+    // The repository method is a readable, bounded tag; the SQL text is neither
+    private static String caller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(PERSISTENCE_PACKAGE)
+                        && !frame.getClassName().startsWith(QueryMetricsListener.class.getName()))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + methodName(frame.getMethodName()))
+                .orElse("other"));
+    }
+
+    // statements issued inside transaction lambdas are reported as the enclosing method
+    private static String methodName(String method) {
+        if (method.startsWith("lambda$")) {
+            final var end = method.indexOf('$', "lambda$".length());
+            return end < 0 ? method : method.substring("lambda$".length(), end);
+        }
+        return method;
+    }
+
+    private static String simpleName(String className) {
+        final var nested = className.indexOf('$');
+        final var outer = nested < 0 ? className : className.substring(0, nested);
+        return outer.substring(outer.lastIndexOf('.') + 1);
+    }
+
+    private record QueryTags(String caller, String type, String outcome) {
+    }
+}
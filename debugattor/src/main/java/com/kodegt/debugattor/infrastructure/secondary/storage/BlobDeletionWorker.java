@@ -0,0 +1,56 @@
+package com.kodegt.debugattor.infrastructure.secondary.storage;
+
+import com.kodegt.debugattor.domain.storage.BlobDeletionQueue;
+import com.kodegt.debugattor.domain.storage.BucketStorageOutputPort;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class BlobDeletionWorker {
+
+    private final BlobDeletionQueue queue;
+    private final BucketStorageOutputPort bucketStorage;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    // S3 multi-object delete accepts at most 1000 keys per request
+    @Value("${storage.cleanup.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${storage.cleanup.interval:2s}")
+    private Duration interval;
+
+    @PostConstruct
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::drain, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private void drain() {
+        try {
+            int removed;
+            do {
+                removed = queue.drain(batchSize, bucketStorage::deleteFiles);
+                if (removed > 0) {
+                    log.info("Removed {} objects from bucket storage", removed);
+                }
+            } while (removed == batchSize);
+        } catch (Exception e) {
+            log.error("Failed to drain blob deletions, will retry", e);
+        }
+    }
+}
@@ -2,25 +2,48 @@ package com.kodegt.debugattor.infrastructure.secondary.storage;
 
 
 import com.kodegt.debugattor.domain.storage.BucketStorageOutputPort;
+import io.minio.CopyObjectArgs;
+import io.minio.CopySource;
 import io.minio.GetObjectArgs;
+import io.minio.GetPresignedObjectUrlArgs;
 import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
 import io.minio.RemoveObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.StatObjectArgs;
+import io.minio.errors.ErrorResponseException;
 import io.minio.errors.MinioException;
-import lombok.RequiredArgsConstructor;
+import io.minio.http.Method;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 
 import java.io.InputStream;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
+@ConditionalOnProperty(name = "storage.type", havingValue = "minio", matchIfMissing = true)
 class BucketStorageMinioAdapter implements BucketStorageOutputPort {
 
     private final MinioClient minioClient;
+    private final MinioClient presigningMinioClient;
+    private final MeterRegistry meterRegistry;
+    private final Map<RequestTags, Timer> timers = new ConcurrentHashMap<>();
 
     @Value("${minio.bucket}")
     private String bucketName;
@@ -31,20 +54,55 @@ class BucketStorageMinioAdapter implements BucketStorageOutputPort {
     @Value("${minio.publicUrl:${minio.url}}")
     private String publicUrl;
 
+    @Value("${minio.part-size:10MB}")
+    private DataSize partSize;
+
+    BucketStorageMinioAdapter(MinioClient minioClient,
+                              @Qualifier("presigningMinioClient") MinioClient presigningMinioClient,
+                              MeterRegistry meterRegistry) {
+        this.minioClient = minioClient;
+        this.presigningMinioClient = presigningMinioClient;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @FunctionalInterface
+    private interface MinioCall<T> {
+        T call() throws Exception;
+    }
+
+    // For get this is the time to the first byte; the body is streamed by the caller afterwards
+    private <T> T timed(String operation, MinioCall<T> call) throws Exception {
+        final var sample = Timer.start(meterRegistry);
+        var outcome = "success";
+        try {
+            return call.call();
+        } catch (Exception e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(timers.computeIfAbsent(new RequestTags(operation, outcome), tags -> Timer.builder("storage.minio.requests")
+                    .description("Latency of MinIO requests")
+                    .tag("operation", tags.operation())
+                    .tag("outcome", tags.outcome())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)));
+        }
+    }
+
     @Override
     public String storeFile(InputStream fileStream, String objectName, String contentType, long fileSize) {
         log.info("Storing file {} to bucket {}", objectName, bucketName);
         try {
-            minioClient.putObject(
+            // Unknown sizes go up as a multipart upload, holding at most one part in memory at a time
+            timed("put", () -> minioClient.putObject(
                     PutObjectArgs.builder()
                             .bucket(bucketName)
                             .object(objectName)
-                            .stream(fileStream, fileSize, -1)
+                            .stream(fileStream, fileSize, fileSize < 0 ? partSize.toBytes() : -1)
                             .contentType(contentType)
                             .build()
-            );
-            // Return a browser-accessible URL using publicUrl
-            return String.format("%s/%s/%s", publicUrl, bucketName, objectName);
+            ));
+            return publicUrl(objectName);
         } catch (Exception e) {
             throw new RuntimeException("Falha ao fazer upload do arquivo para o MinIO: " + e.getMessage());
         }
@@ -54,12 +112,12 @@ class BucketStorageMinioAdapter implements BucketStorageOutputPort {
     @Override
     public Optional<InputStream> getFile(String objectName) {
         try {
-            InputStream stream = minioClient.getObject(
+            InputStream stream = timed("get", () -> minioClient.getObject(
                     GetObjectArgs.builder()
                             .bucket(bucketName)
                             .object(objectName)
                             .build()
-            );
+            ));
             return Optional.of(stream);
         } catch (MinioException e) {
             return Optional.empty();
@@ -69,17 +127,114 @@ class BucketStorageMinioAdapter implements BucketStorageOutputPort {
     }
 
     @Override
-    public void deleteFile(String objectName) {
-        log.info("Deleting file {} from bucket {}", objectName, bucketName);
+    public boolean fileExists(String objectName) {
         try {
-            minioClient.removeObject(
-                    RemoveObjectArgs.builder()
+            timed("stat", () -> minioClient.statObject(
+                    StatObjectArgs.builder()
                             .bucket(bucketName)
                             .object(objectName)
                             .build()
+            ));
+            return true;
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                return false;
+            }
+            throw new RuntimeException("Failed to check file in MinIO: " + e.getMessage());
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to check file in MinIO: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void copyFile(String sourceObjectName, String targetObjectName) {
+        log.info("Copying file {} to {} in bucket {}", sourceObjectName, targetObjectName, bucketName);
+        try {
+            timed("copy", () -> minioClient.copyObject(
+                    CopyObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(targetObjectName)
+                            .source(CopySource.builder()
+                                    .bucket(bucketName)
+                                    .object(sourceObjectName)
+                                    .build())
+                            .build()
+            ));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to copy file in MinIO: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String publicUrl(String objectName) {
+        return String.format("%s/%s/%s", publicUrl, bucketName, objectName);
+    }
+
+    @Override
+    public boolean supportsUploadUrls() {
+        return true;
+    }
+
+    @Override
+    public String createUploadUrl(String objectName, Duration expiry) {
+        try {
+            return presigningMinioClient.getPresignedObjectUrl(
+                    GetPresignedObjectUrlArgs.builder()
+                            .method(Method.PUT)
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .expiry((int) expiry.toSeconds())
+                            .build()
             );
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to create upload URL in MinIO: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void deleteFile(String objectName) {
+        log.info("Deleting file {} from bucket {}", objectName, bucketName);
+        try {
+            timed("delete", () -> {
+                minioClient.removeObject(
+                        RemoveObjectArgs.builder()
+                                .bucket(bucketName)
+                                .object(objectName)
+                                .build()
+                );
+                return null;
+            });
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete file from MinIO: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public Set<String> deleteFiles(Collection<String> objectNames) {
+        log.info("Deleting {} files from bucket {}", objectNames.size(), bucketName);
+        // removeObjects is lazy: the request is sent while iterating the results, which only list failures
+        Iterable<Result<DeleteError>> results = minioClient.removeObjects(
+                RemoveObjectsArgs.builder()
+                        .bucket(bucketName)
+                        .objects(objectNames.stream().map(DeleteObject::new).toList())
+                        .build()
+        );
+        Set<String> failed = new HashSet<>();
+        try {
+            timed("delete_batch", () -> {
+                for (Result<DeleteError> result : results) {
+                    DeleteError error = result.get();
+                    log.warn("Failed to delete file {} from bucket {}: {}", error.objectName(), bucketName, error.message());
+                    failed.add(error.objectName());
+                }
+                return failed;
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to delete files from MinIO: " + e.getMessage());
+        }
+        return failed;
+    }
+
+    private record RequestTags(String operation, String outcome) {
+    }
+}
@@ -0,0 +1,206 @@
+package com.kodegt.debugattor.infrastructure.secondary.storage;
+
+import com.kodegt.debugattor.domain.storage.BucketStorageOutputPort;
+import com.kodegt.debugattor.domain.storage.LocalObject;
+import com.kodegt.debugattor.domain.storage.LocalObjectStore;
+import com.kodegt.debugattor.domain.storage.UploadUrlUnsupportedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Keeps objects as files for single-node installs that do not want to run MinIO. Files are spread over two levels
+ * of directories named after the hash of the object name, so no directory grows past a few thousand entries.
+ * The content type is kept next to each file, in a sidecar whose name no object name can take.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "filesystem")
+class FileSystemStorageAdapter implements BucketStorageOutputPort, LocalObjectStore {
+
+    private static final Pattern OBJECT_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+    private static final String TYPE_SUFFIX = "~type";
+
+    private final Path root;
+    private final String publicUrl;
+
+    FileSystemStorageAdapter(@Value("${storage.filesystem.root:./data/blobs}") Path root,
+                             @Value("${storage.filesystem.public-url:http://localhost:8125/api/blobs}") String publicUrl) throws IOException {
+        this.root = Files.createDirectories(root.toAbsolutePath().normalize());
+        this.publicUrl = publicUrl;
+    }
+
+    @Override
+    public String storeFile(InputStream fileStream, String objectName, String contentType, long fileSize) {
+        log.info("Storing file {} under {}", objectName, root);
+        final var target = pathOf(objectName);
+        try {
+            Files.createDirectories(target.getParent());
+            // written aside and renamed, so a reader never sees a partial file
+            final var temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+            try {
+                Files.copy(fileStream, temp, REPLACE_EXISTING);
+                Files.writeString(typeOf(target), contentType == null ? MediaType.APPLICATION_OCTET_STREAM_VALUE : contentType);
+                Files.move(temp, target, ATOMIC_MOVE, REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return publicUrl(objectName);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store file " + objectName, e);
+        }
+    }
+
+    @Override
+    public Optional<InputStream> getFile(String objectName) {
+        try {
+            return Optional.of(Files.newInputStream(pathOf(objectName)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read file " + objectName, e);
+        }
+    }
+
+    @Override
+    public boolean fileExists(String objectName) {
+        return Files.isRegularFile(pathOf(objectName));
+    }
+
+    @Override
+    public void copyFile(String sourceObjectName, String targetObjectName) {
+        log.info("Copying file {} to {}", sourceObjectName, targetObjectName);
+        final var source = pathOf(sourceObjectName);
+        final var target = pathOf(targetObjectName);
+        try {
+            Files.createDirectories(target.getParent());
+            Files.deleteIfExists(target);
+            try {
+                // objects are never modified in place, so both names can share the same data
+                Files.createLink(target, source);
+            } catch (UnsupportedOperationException | IOException e) {
+                Files.copy(source, target, REPLACE_EXISTING);
+            }
+            if (Files.exists(typeOf(source))) {
+                Files.copy(typeOf(source), typeOf(target), REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to copy file " + sourceObjectName, e);
+        }
+    }
+
+    @Override
+    public String publicUrl(String objectName) {
+        return String.format("%s/%s", publicUrl, objectName);
+    }
+
+    @Override
+    public boolean supportsUploadUrls() {
+        return false;
+    }
+
+    @Override
+    public String createUploadUrl(String objectName, Duration expiry) {
+        throw new UploadUrlUnsupportedException();
+    }
+
+    @Override
+    public void deleteFile(String objectName) {
+        log.info("Deleting file {} under {}", objectName, root);
+        try {
+            delete(objectName);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete file " + objectName, e);
+        }
+    }
+
+    @Override
+    public Set<String> deleteFiles(Collection<String> objectNames) {
+        log.info("Deleting {} files under {}", objectNames.size(), root);
+        Set<String> failed = new HashSet<>();
+        for (String objectName : objectNames) {
+            try {
+                delete(objectName);
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("Failed to delete file {}: {}", objectName, e.getMessage());
+                failed.add(objectName);
+            }
+        }
+        return failed;
+    }
+
+    @Override
+    public Optional<LocalObject> locate(String objectName) {
+        if (!OBJECT_NAME.matcher(objectName).matches()) {
+            return Optional.empty();
+        }
+        final var path = pathOf(objectName);
+        try {
+            return Optional.of(new LocalObject(path, contentTypeOf(objectName, path), Files.size(path)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read file " + objectName, e);
+        }
+    }
+
+    private void delete(String objectName) throws IOException {
+        final var path = pathOf(objectName);
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(typeOf(path));
+    }
+
+    private String contentTypeOf(String objectName, Path path) throws IOException {
+        final var sidecar = typeOf(path);
+        if (Files.exists(sidecar)) {
+            return Files.readString(sidecar).strip();
+        }
+        return MediaTypeFactory.getMediaType(objectName)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString();
+    }
+
+    private Path pathOf(String objectName) {
+        // names come from the application, but a path separator or a leading dot must never reach the disk
+        if (!OBJECT_NAME.matcher(objectName).matches()) {
+            throw new IllegalArgumentException("Invalid object name: " + objectName);
+        }
+        final var shard = HexFormat.of().formatHex(sha256(objectName), 0, 2);
+        return root.resolve(shard.substring(0, 2)).resolve(shard.substring(2, 4)).resolve(objectName);
+    }
+
+    private static Path typeOf(Path path) {
+        return path.resolveSibling(path.getFileName() + TYPE_SUFFIX);
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
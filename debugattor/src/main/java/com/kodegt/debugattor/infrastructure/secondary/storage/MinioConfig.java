@@ -1,15 +1,24 @@
 package com.kodegt.debugattor.infrastructure.secondary.storage;
 import io.minio.MinioClient;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
 @Configuration
+@ConditionalOnProperty(name = "storage.type", havingValue = "minio", matchIfMissing = true)
 class MinioConfig {
 
     @Value("${minio.url}")
     private String minioUrl;
 
+    @Value("${minio.publicUrl:${minio.url}}")
+    private String publicUrl;
+
+    @Value("${minio.region:us-east-1}")
+    private String region;
+
     @Value("${minio.access-key:${minio.accessKey}}")
     private String accessKey;
 
@@ -17,10 +26,24 @@ class MinioConfig {
     private String secretKey;
 
     @Bean
+    @Primary
     public MinioClient minioClient() {
         return MinioClient.builder()
                 .endpoint(minioUrl)
                 .credentials(accessKey, secretKey)
                 .build();
     }
+
+    /**
+     * Presigned URLs embed the host they were signed for, so they are signed against the public endpoint.
+     * The region is fixed because this client must never call that endpoint to look it up.
+     */
+    @Bean
+    public MinioClient presigningMinioClient() {
+        return MinioClient.builder()
+                .endpoint(publicUrl)
+                .region(region)
+                .credentials(accessKey, secretKey)
+                .build();
+    }
 }
@@ -0,0 +1,27 @@
+package com.kodegt.debugattor.infrastructure.sse;
+
+import com.kodegt.debugattor.domain.artifact.Artifact;
+import com.kodegt.debugattor.domain.events.ArtifactAppendedEvent;
+import com.kodegt.debugattor.domain.events.ArtifactLoggedEvent;
+
+import java.util.UUID;
+
+/**
+ * What batched streams send for an artifact event: ids and the start of the text, never the full content or a
+ * file URL. Clients fetch the artifact itself when they need more.
+ */
+record ArtifactEventSummary(UUID stepId, UUID artifactId, String type, String description, String preview,
+                            boolean truncated) {
+
+    static ArtifactEventSummary of(ArtifactLoggedEvent event, int previewLength) {
+        // IMAGE content is a URL, not something to preview
+        final var text = Artifact.Type.IMAGE.name().equals(event.type()) ? null : event.content();
+        return new ArtifactEventSummary(event.stepId(), event.artifactId(), event.type(), event.description(),
+                Artifact.preview(text, previewLength), text != null && text.length() > previewLength);
+    }
+
+    static ArtifactEventSummary of(ArtifactAppendedEvent event, int previewLength) {
+        return new ArtifactEventSummary(event.stepId(), event.artifactId(), Artifact.Type.LOG.name(), null,
+                Artifact.preview(event.text(), previewLength), event.text().length() > previewLength);
+    }
+}
@@ -0,0 +1,94 @@
+package com.kodegt.debugattor.infrastructure.sse;
+
+import com.kodegt.debugattor.domain.step.StepRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Emitters grouped by the execution they watch, so an event is only sent to the clients of its own execution.
+ */
+@Component
+@RequiredArgsConstructor
+class ExecutionSubscriptions {
+
+    private static final int STEP_CACHE_SIZE = 10_000;
+
+    private final StepRepository stepRepository;
+    private final SseDelivery delivery;
+    private final Map<UUID, Set<SseSubscriber>> subscribers = new ConcurrentHashMap<>();
+    // artifact events only carry the step, so recent step -> execution lookups are remembered
+    private final Map<UUID, UUID> executionByStep = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, UUID> eldest) {
+            return size() > STEP_CACHE_SIZE;
+        }
+    });
+
+    SseEmitter subscribe(UUID executionId, boolean batched) {
+        final var subscriber = delivery.open("execution", batched, closed -> unsubscribe(executionId, closed));
+        // added inside the map operation, so an unsubscribe dropping the emptied set cannot take this one with it
+        subscribers.compute(executionId, (id, watchers) -> {
+            final var set = watchers == null ? ConcurrentHashMap.<SseSubscriber>newKeySet() : watchers;
+            set.add(subscriber);
+            return set;
+        });
+        return subscriber.emitter();
+    }
+
+    int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    int watchedExecutions() {
+        return subscribers.size();
+    }
+
+    void rememberStep(UUID stepId, UUID executionId) {
+        executionByStep.put(stepId, executionId);
+    }
+
+    void send(UUID executionId, SseFrame frame) {
+        final var watchers = subscribers.get(executionId);
+        if (watchers != null) {
+            watchers.forEach(subscriber -> subscriber.offer(frame));
+        }
+    }
+
+    void sendForStep(UUID stepId, SseFrame frame) {
+        // nobody watching any execution, not worth a lookup
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        executionOf(stepId).ifPresent(executionId -> send(executionId, frame));
+    }
+
+    void sendToAll(SseFrame frame) {
+        subscribers.keySet().forEach(executionId -> send(executionId, frame));
+    }
+
+    private Optional<UUID> executionOf(UUID stepId) {
+        final var cached = executionByStep.get(stepId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        final var executionId = stepRepository.findExecutionId(stepId);
+        executionId.ifPresent(id -> rememberStep(stepId, id));
+        return executionId;
+    }
+
+    private void unsubscribe(UUID executionId, SseSubscriber subscriber) {
+        subscribers.computeIfPresent(executionId, (id, watchers) -> {
+            watchers.remove(subscriber);
+            return watchers.isEmpty() ? null : watchers;
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package com.kodegt.debugattor.infrastructure.sse;
+
+/**
+ * What a subscriber's queue does when the client reads slower than events arrive.
+ */
+enum OverflowPolicy {
+    // discard the oldest queued event
+    DROP_OLDEST,
+    // replace the whole backlog with a single "resync" event, after which the client reloads its state
+    COALESCE,
+    // close the stream; the client reconnects and reloads
+    DISCONNECT
+}
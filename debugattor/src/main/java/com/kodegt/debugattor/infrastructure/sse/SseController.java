@@ -1,18 +1,25 @@
 package com.kodegt.debugattor.infrastructure.sse;
 
+import com.kodegt.debugattor.domain.events.ArtifactAppendedEvent;
 import com.kodegt.debugattor.domain.events.ArtifactLoggedEvent;
 import com.kodegt.debugattor.domain.events.StepRegisteredEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
 import java.time.Instant;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -20,72 +27,96 @@ import java.util.concurrent.TimeUnit;
 @RestController
 @RequestMapping("/api/events")
 public class SseController {
-    private final List<SseEmitter> stepEmitters = new CopyOnWriteArrayList<>();
-    private final List<SseEmitter> artifactEmitters = new CopyOnWriteArrayList<>();
+    private final Set<SseSubscriber> stepSubscribers = ConcurrentHashMap.newKeySet();
+    private final Set<SseSubscriber> artifactSubscribers = ConcurrentHashMap.newKeySet();
     private final ScheduledExecutorService heartbeatScheduler = Executors.newSingleThreadScheduledExecutor();
+    private final SseDelivery delivery;
+    private final ExecutionSubscriptions executionSubscriptions;
+    private final int summaryPreviewLength;
+
+    public SseController(SseDelivery delivery, ExecutionSubscriptions executionSubscriptions, MeterRegistry meterRegistry,
+                         @Value("${sse.batch.preview-length:200}") int summaryPreviewLength) {
+        this.delivery = delivery;
+        this.executionSubscriptions = executionSubscriptions;
+        this.summaryPreviewLength = summaryPreviewLength;
+
+        Gauge.builder("sse.channel.subscribers", stepSubscribers, Set::size)
+                .description("Open event streams per channel")
+                .tag("channel", "steps")
+                .register(meterRegistry);
+        Gauge.builder("sse.channel.subscribers", artifactSubscribers, Set::size)
+                .description("Open event streams per channel")
+                .tag("channel", "artifacts")
+                .register(meterRegistry);
+        Gauge.builder("sse.channel.subscribers", executionSubscriptions, ExecutionSubscriptions::subscriberCount)
+                .description("Open event streams per channel")
+                .tag("channel", "executions")
+                .register(meterRegistry);
+        Gauge.builder("sse.executions.watched", executionSubscriptions, ExecutionSubscriptions::watchedExecutions)
+                .description("Executions with at least one open event stream")
+                .register(meterRegistry);
 
-    public SseController() {
         // Heartbeat para manter conexões ativas em proxies e durante dev
         heartbeatScheduler.scheduleAtFixedRate(() -> {
-            sendHeartbeat(stepEmitters, "steps");
-            sendHeartbeat(artifactEmitters, "artifacts");
+            broadcast(stepSubscribers, SseFrame.of("heartbeat", "hb:steps:" + Instant.now()));
+            broadcast(artifactSubscribers, SseFrame.of("heartbeat", "hb:artifacts:" + Instant.now()));
+            executionSubscriptions.sendToAll(SseFrame.of("heartbeat", "hb:executions:" + Instant.now()));
         }, 15, 15, TimeUnit.SECONDS);
     }
 
-    private void sendHeartbeat(List<SseEmitter> emitters, String channel) {
-        for (SseEmitter emitter : new java.util.ArrayList<>(emitters)) {
-            try {
-                emitter.send(SseEmitter.event().name("heartbeat").data("hb:" + channel + ":" + Instant.now().toString()));
-            } catch (IOException e) {
-                emitter.completeWithError(e);
-                emitters.remove(emitter);
-            }
-        }
+    // only enqueues; each subscriber's own virtual thread writes to its connection
+    private void broadcast(Set<SseSubscriber> subscribers, SseFrame frame) {
+        subscribers.forEach(subscriber -> subscriber.offer(frame));
     }
 
     @GetMapping(value = "/steps", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter streamSteps() {
-        SseEmitter emitter = new SseEmitter(0L);
-        stepEmitters.add(emitter);
-        emitter.onCompletion(() -> stepEmitters.remove(emitter));
-        emitter.onTimeout(() -> stepEmitters.remove(emitter));
-        // sinaliza conexão estabelecida
-        try { emitter.send(SseEmitter.event().name("sse-connected").data("ok")); } catch (IOException ignored) {}
-        return emitter;
+    public SseEmitter streamSteps(@RequestParam(defaultValue = "false") boolean batch) {
+        SseSubscriber subscriber = delivery.open("steps", batch, stepSubscribers::remove);
+        stepSubscribers.add(subscriber);
+        return subscriber.emitter();
     }
 
     @GetMapping(value = "/artifacts", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter streamArtifacts() {
-        SseEmitter emitter = new SseEmitter(0L);
-        artifactEmitters.add(emitter);
-        emitter.onCompletion(() -> artifactEmitters.remove(emitter));
-        emitter.onTimeout(() -> artifactEmitters.remove(emitter));
-        // sinaliza conexão estabelecida
-        try { emitter.send(SseEmitter.event().name("sse-connected").data("ok")); } catch (IOException ignored) {}
-        return emitter;
+    public SseEmitter streamArtifacts(@RequestParam(defaultValue = "false") boolean batch) {
+        SseSubscriber subscriber = delivery.open("artifacts", batch, artifactSubscribers::remove);
+        artifactSubscribers.add(subscriber);
+        return subscriber.emitter();
+    }
+
+    /**
+     * Steps and artifacts of a single execution; unlike the global streams, other executions' events are never sent.
+     * With {@code batch=true} any stream delivers "batch" frames holding an array of events, with artifact content
+     * cut down to a preview.
+     */
+    @GetMapping(value = "/executions/{executionId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamExecution(@PathVariable UUID executionId, @RequestParam(defaultValue = "false") boolean batch) {
+        return executionSubscriptions.subscribe(executionId, batch);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeatScheduler.shutdownNow();
     }
 
     @EventListener
     public void onStepRegistered(StepRegisteredEvent event) {
-        for (SseEmitter emitter : new java.util.ArrayList<>(stepEmitters)) {
-            try {
-                emitter.send(SseEmitter.event().name("step-registered").data(event));
-            } catch (IOException e) {
-                emitter.completeWithError(e);
-                stepEmitters.remove(emitter); // Remove imediatamente ao detectar erro
-            }
-        }
+        final var frame = SseFrame.of("step-registered", event);
+        executionSubscriptions.rememberStep(event.stepId(), event.executionId());
+        executionSubscriptions.send(event.executionId(), frame);
+        broadcast(stepSubscribers, frame);
     }
 
     @EventListener
     public void onArtifactLogged(ArtifactLoggedEvent event) {
-        for (SseEmitter emitter : new java.util.ArrayList<>(artifactEmitters)) {
-            try {
-                emitter.send(SseEmitter.event().name("artifact-registered").data(event));
-            } catch (IOException e) {
-                emitter.completeWithError(e);
-                artifactEmitters.remove(emitter); // Remove imediatamente ao detectar erro
-            }
-        }
+        final var frame = SseFrame.of("artifact-registered", event, ArtifactEventSummary.of(event, summaryPreviewLength));
+        executionSubscriptions.sendForStep(event.stepId(), frame);
+        broadcast(artifactSubscribers, frame);
+    }
+
+    @EventListener
+    public void onArtifactAppended(ArtifactAppendedEvent event) {
+        final var frame = SseFrame.of("artifact-appended", event, ArtifactEventSummary.of(event, summaryPreviewLength));
+        executionSubscriptions.sendForStep(event.stepId(), frame);
+        broadcast(artifactSubscribers, frame);
     }
 }
@@ -0,0 +1,113 @@
+package com.kodegt.debugattor.infrastructure.sse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Creates subscribers and owns what they share: the virtual-thread executor that drains their queues and the
+ * delivery metrics. Lag is reported per channel rather than per connection, so the number of series stays fixed
+ * however many clients come and go.
+ */
+@Component
+class SseDelivery {
+
+    private final MeterRegistry meterRegistry;
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final SseSubscriber.Batching batching;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<SseSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<LagGroup, Set<SseSubscriber>> lagGroups = new ConcurrentHashMap<>();
+    private final Timer deliveryLag;
+    private final Map<OverflowPolicy, Counter> overflows = new EnumMap<>(OverflowPolicy.class);
+
+    SseDelivery(MeterRegistry meterRegistry,
+                @Value("${sse.subscriber.queue-capacity:256}") int queueCapacity,
+                @Value("${sse.subscriber.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+                @Value("${sse.batch.max-events:200}") int batchMaxEvents,
+                @Value("${sse.batch.interval:250ms}") Duration batchInterval) {
+        this.meterRegistry = meterRegistry;
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.batching = new SseSubscriber.Batching(batchMaxEvents, batchInterval);
+
+        Gauge.builder("sse.subscribers", subscribers, Set::size)
+                .description("Open event stream connections")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("sse.delivery.lag")
+                .description("Time between publishing an event and writing it to a subscriber")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        for (var policy : OverflowPolicy.values()) {
+            overflows.put(policy, Counter.builder("sse.subscriber.overflows")
+                    .description("Events that arrived while a subscriber's queue was full")
+                    .tag("policy", policy.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Opens a stream of the given channel; {@code onClose} runs, possibly more than once, when it ends.
+     */
+    SseSubscriber open(String channel, boolean batched, Consumer<SseSubscriber> onClose) {
+        final var group = lagGroups.computeIfAbsent(new LagGroup(channel, batched), this::registerLagGauge);
+        final Consumer<SseSubscriber> closing = closed -> {
+            subscribers.remove(closed);
+            group.remove(closed);
+            onClose.accept(closed);
+        };
+        final var subscriber = new SseSubscriber(new SseEmitter(0L), queueCapacity, overflowPolicy,
+                batched ? batching : null, executor, this, closing);
+        subscribers.add(subscriber);
+        group.add(subscriber);
+        subscriber.offer(SseFrame.of("sse-connected", "ok"));
+        return subscriber;
+    }
+
+    void delivered(long lagNanos) {
+        deliveryLag.record(lagNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void overflowed(OverflowPolicy policy) {
+        overflows.get(policy).increment();
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    private Set<SseSubscriber> registerLagGauge(LagGroup group) {
+        final Set<SseSubscriber> members = ConcurrentHashMap.newKeySet();
+        Gauge.builder("sse.subscribers.lag.max", members, SseDelivery::maxLagSeconds)
+                .description("Age of the oldest undelivered event across the subscribers of a channel")
+                .baseUnit("seconds")
+                .tag("channel", group.channel())
+                .tag("batched", String.valueOf(group.batched()))
+                .register(meterRegistry);
+        return members;
+    }
+
+    private static double maxLagSeconds(Set<SseSubscriber> subscribers) {
+        return subscribers.stream().mapToLong(SseSubscriber::lagNanos).max().orElse(0) / 1e9;
+    }
+
+    private record LagGroup(String channel, boolean batched) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.kodegt.debugattor.infrastructure.sse;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+/**
+ * An event built once on the publishing thread and shared by every subscriber it is queued for. Batched streams
+ * send {@code summary} instead of the full payload.
+ */
+record SseFrame(String name, Set<ResponseBodyEmitter.DataWithMediaType> data, Object summary) {
+
+    static SseFrame of(String name, Object data) {
+        return of(name, data, data);
+    }
+
+    static SseFrame of(String name, Object data, Object summary) {
+        return new SseFrame(name, SseEmitter.event().name(name).data(data).build(), summary);
+    }
+}
@@ -0,0 +1,182 @@
+package com.kodegt.debugattor.infrastructure.sse;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * One client connection with its own bounded queue. Publishers only enqueue; a virtual thread started on demand
+ * writes to the socket, so a slow client delays nobody but itself.
+ */
+class SseSubscriber {
+
+    /**
+     * Flush queued events as one "batch" frame every {@code interval} or {@code maxEvents}, whichever comes first.
+     */
+    record Batching(int maxEvents, Duration interval) {
+    }
+
+    record BatchedEvent(String event, Object data) {
+    }
+
+    private record Pending(SseFrame frame, long enqueuedAt) {
+    }
+
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final Batching batching;
+    private final Executor executor;
+    private final SseDelivery delivery;
+    private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+    private final Consumer<SseSubscriber> onClose;
+    private Thread drainer;
+    private boolean draining;
+    private boolean closed;
+
+    SseSubscriber(SseEmitter emitter, int capacity, OverflowPolicy overflowPolicy, Batching batching,
+                  Executor executor, SseDelivery delivery, Consumer<SseSubscriber> onClose) {
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.batching = batching;
+        this.executor = executor;
+        this.delivery = delivery;
+        this.onClose = onClose;
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(e -> close());
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    void offer(SseFrame frame) {
+        Thread wake = null;
+        boolean start = false;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (queue.size() >= capacity) {
+                delivery.overflowed(overflowPolicy);
+                switch (overflowPolicy) {
+                    case DROP_OLDEST -> queue.removeFirst();
+                    case COALESCE -> {
+                        queue.clear();
+                        queue.addLast(new Pending(SseFrame.of("resync", "lagged"), System.nanoTime()));
+                    }
+                    case DISCONNECT -> closed = true;
+                }
+            }
+            if (!closed) {
+                queue.addLast(new Pending(frame, System.nanoTime()));
+                if (draining) {
+                    // a full batch does not wait for the rest of the interval
+                    if (batching != null && queue.size() >= batching.maxEvents()) {
+                        wake = drainer;
+                    }
+                } else {
+                    draining = true;
+                    start = true;
+                }
+            }
+        }
+        if (closed) {
+            // the drain loop notices the flag and stops writing
+            emitter.complete();
+            close();
+            return;
+        }
+        if (wake != null) {
+            LockSupport.unpark(wake);
+        } else if (start) {
+            executor.execute(this::drain);
+        }
+    }
+
+    synchronized int queueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * How long the oldest undelivered event has been waiting, in nanoseconds.
+     */
+    synchronized long lagNanos() {
+        final var oldest = queue.peekFirst();
+        return oldest == null ? 0 : System.nanoTime() - oldest.enqueuedAt();
+    }
+
+    private void drain() {
+        synchronized (this) {
+            drainer = Thread.currentThread();
+        }
+        while (true) {
+            if (batching != null) {
+                awaitBatch();
+            }
+            final var next = new ArrayList<Pending>();
+            synchronized (this) {
+                final var limit = batching == null ? 1 : batching.maxEvents();
+                while (!closed && next.size() < limit && !queue.isEmpty()) {
+                    next.add(queue.pollFirst());
+                }
+                if (next.isEmpty()) {
+                    draining = false;
+                    drainer = null;
+                    return;
+                }
+            }
+            try {
+                if (batching == null) {
+                    emitter.send(next.getFirst().frame().data());
+                } else {
+                    emitter.send(batchOf(next));
+                }
+                final var now = System.nanoTime();
+                next.forEach(pending -> delivery.delivered(now - pending.enqueuedAt()));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                close();
+                return;
+            }
+        }
+    }
+
+    private void awaitBatch() {
+        final var deadline = System.nanoTime() + batching.interval().toNanos();
+        long remaining;
+        // parking rather than Object.wait keeps the virtual thread off its carrier while it waits
+        while ((remaining = deadline - System.nanoTime()) > 0 && queueDepth() < batching.maxEvents() && !isClosed()) {
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder batchOf(List<Pending> pending) {
+        final var events = pending.stream()
+                .map(p -> new BatchedEvent(p.frame().name(), p.frame().summary()))
+                .toList();
+        return SseEmitter.event().name("batch").data(events, MediaType.APPLICATION_JSON);
+    }
+
+    private synchronized boolean isClosed() {
+        return closed;
+    }
+
+    private void close() {
+        synchronized (this) {
+            closed = true;
+            queue.clear();
+        }
+        onClose.accept(this);
+    }
+}
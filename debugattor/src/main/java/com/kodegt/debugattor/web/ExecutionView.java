@@ -1,10 +1,16 @@
 package com.kodegt.debugattor.web;
 
 import com.kodegt.debugattor.application.input.DeleteExecutionUseCase;
-import com.kodegt.debugattor.application.input.GetExecutionByIdUseCase;
+import com.kodegt.debugattor.application.input.FetchArtifactsUseCase;
+import com.kodegt.debugattor.application.input.FetchExecutionsUseCase;
+import com.kodegt.debugattor.application.input.FetchStepsUseCase;
+import com.kodegt.debugattor.application.input.ReadArtifactContentUseCase;
 import com.kodegt.debugattor.domain.artifact.Artifact;
 import com.kodegt.debugattor.domain.execution.Execution;
+import com.kodegt.debugattor.domain.execution.ExecutionSummary;
+import com.kodegt.debugattor.domain.pagination.Cursor;
 import com.kodegt.debugattor.domain.step.Step;
+import com.kodegt.debugattor.web.components.LazyLoad;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
@@ -30,16 +36,32 @@ public class ExecutionView extends VerticalLayout implements HasUrlParameter<Str
 
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm:ss");
 
-    private final GetExecutionByIdUseCase getExecutionByIdUseCase;
+    private static final int STEPS_PAGE_SIZE = 24;
+    private static final int ARTIFACTS_PAGE_SIZE = 10;
+    private static final int TEXT_PREVIEW_LENGTH = 200;
+    private static final int TEXT_CHUNK_LENGTH = 4000;
+    private static final int TAIL_LINES = 50;
+
+    private final FetchExecutionsUseCase fetchExecutionsUseCase;
+    private final FetchStepsUseCase fetchStepsUseCase;
+    private final FetchArtifactsUseCase fetchArtifactsUseCase;
     private final DeleteExecutionUseCase deleteExecutionUseCase;
+    private final ReadArtifactContentUseCase readArtifactContentUseCase;
 
     private final Div mainContent = new Div();
     private String executionId;
-
-    public ExecutionView(GetExecutionByIdUseCase getExecutionByIdUseCase,
-                         DeleteExecutionUseCase deleteExecutionUseCase) {
-        this.getExecutionByIdUseCase = getExecutionByIdUseCase;
+    private int renderedSteps;
+
+    public ExecutionView(FetchExecutionsUseCase fetchExecutionsUseCase,
+                         FetchStepsUseCase fetchStepsUseCase,
+                         FetchArtifactsUseCase fetchArtifactsUseCase,
+                         DeleteExecutionUseCase deleteExecutionUseCase,
+                         ReadArtifactContentUseCase readArtifactContentUseCase) {
+        this.fetchExecutionsUseCase = fetchExecutionsUseCase;
+        this.fetchStepsUseCase = fetchStepsUseCase;
+        this.fetchArtifactsUseCase = fetchArtifactsUseCase;
         this.deleteExecutionUseCase = deleteExecutionUseCase;
+        this.readArtifactContentUseCase = readArtifactContentUseCase;
 
         setSizeFull();
         setPadding(false);
@@ -66,14 +88,14 @@ public class ExecutionView extends VerticalLayout implements HasUrlParameter<Str
 
     private void loadExecution() {
         try {
-            Optional<Execution> executionOpt = getExecutionByIdUseCase.execute(UUID.fromString(executionId));
+            Optional<ExecutionSummary> executionOpt = fetchExecutionsUseCase.fetchSummary(UUID.fromString(executionId));
 
             if (executionOpt.isEmpty()) {
                 showError("Execution not found");
                 return;
             }
 
-            Execution execution = executionOpt.get();
+            ExecutionSummary execution = executionOpt.get();
             renderExecution(execution);
 
         } catch (Exception e) {
@@ -82,8 +104,9 @@ public class ExecutionView extends VerticalLayout implements HasUrlParameter<Str
         }
     }
 
-    private void renderExecution(Execution execution) {
+    private void renderExecution(ExecutionSummary execution) {
         mainContent.removeAll();
+        renderedSteps = 0;
 
         VerticalLayout container = new VerticalLayout();
         container.setSizeFull();
@@ -102,7 +125,7 @@ public class ExecutionView extends VerticalLayout implements HasUrlParameter<Str
         mainContent.add(container);
     }
 
-    private Component createHeader(Execution execution) {
+    private Component createHeader(ExecutionSummary execution) {
         VerticalLayout header = new VerticalLayout();
         header.setPadding(false);
         header.setSpacing(true);
@@ -138,13 +161,12 @@ public class ExecutionView extends VerticalLayout implements HasUrlParameter<Str
 
         Span statusSpan = createStatusBadge(execution.status());
 
-        Span stepsCount = new Span("Steps: " + execution.steps().size());
+        Span stepsCount = new Span("Steps: " + execution.totalSteps());
         stepsCount.getStyle().set("color", "#999999");
 
-        // Count completed, running, failed steps
-        long completed = execution.steps().stream().filter(s -> s.status() == Step.Status.COMPLETED).count();
-        long running = execution.steps().stream().filter(s -> s.status() == Step.Status.RUNNING).count();
-        long failed = execution.steps().stream().filter(s -> s.status() == Step.Status.FAILED).count();
+        int completed = execution.completedSteps();
+        int running = execution.runningSteps();
+        int failed = execution.failedSteps();
 
         Span completedSpan = new Span("✓ " + completed);
         completedSpan.getStyle().set("color", "#4ade80");
@@ -162,7 +184,7 @@ public class ExecutionView extends VerticalLayout implements HasUrlParameter<Str
         return header;
     }
 
-    private Component createStepsSection(Execution execution) {
+    private Component createStepsSection(ExecutionSummary execution) {
         VerticalLayout section = new VerticalLayout();
         section.setPadding(false);
         section.setSpacing(true);
@@ -172,14 +194,10 @@ public class ExecutionView extends VerticalLayout implements HasUrlParameter<Str
         sectionHeader.setAlignItems(FlexComponent.Alignment.CENTER);
         sectionHeader.setJustifyContentMode(FlexComponent.JustifyContentMode.BETWEEN);
 
-        H3 title = new H3("Execution Steps (" + execution.steps().size() + ")");
+        H3 title = new H3("Execution Steps (" + execution.totalSteps() + ")");
         title.getStyle().set("margin", "0");
 
-        long completed = execution.steps().stream().filter(s -> s.status() == Step.Status.COMPLETED).count();
-        long running = execution.steps().stream().filter(s -> s.status() == Step.Status.RUNNING).count();
-        long failed = execution.steps().stream().filter(s -> s.status() == Step.Status.FAILED).count();
-
-        Span summary = new Span(completed + " completed, " + running + " running, " + failed + " failed");
+        Span summary = new Span(execution.completedSteps() + " completed, " + execution.runningSteps() + " running, " + execution.failedSteps() + " failed");
         summary.getStyle().set("color", "#999999");
 
         sectionHeader.add(title, summary);
@@ -193,16 +211,30 @@ public class ExecutionView extends VerticalLayout implements HasUrlParameter<Str
                 .set("gap", "16px")
                 .set("margin-top", "16px");
 
-        int stepNumber = 1;
-        for (Step step : execution.steps()) {
-            stepsGrid.add(createStepCard(step, stepNumber++));
-        }
-
         section.add(stepsGrid);
+        loadSteps(execution.id(), stepsGrid, null);
 
         return section;
     }
 
+    private void loadSteps(UUID executionId, Div stepsGrid, Cursor after) {
+        var page = fetchStepsUseCase.fetch(executionId, after, STEPS_PAGE_SIZE);
+        for (Step step : page.items()) {
+            stepsGrid.add(createStepCard(step, ++renderedSteps));
+        }
+
+        if (page.hasNext()) {
+            // Next page is fetched once the end of the grid scrolls into view
+            Div sentinel = new Div();
+            sentinel.getStyle().set("grid-column", "1 / -1");
+            stepsGrid.add(sentinel);
+            LazyLoad.onFirstVisible(sentinel, () -> {
+                stepsGrid.remove(sentinel);
+                loadSteps(executionId, stepsGrid, page.next());
+            });
+        }
+    }
+
     private Component createStepCard(Step step, int stepNumber) {
         VerticalLayout card = new VerticalLayout();
         card.setPadding(true);
@@ -237,7 +269,7 @@ public class ExecutionView extends VerticalLayout implements HasUrlParameter<Str
 
         stepInfo.add(stepNum, statusIcon);
 
-        Span artifactCount = new Span(step.artifacts().size() + " artifacts");
+        Span artifactCount = new Span("… artifacts");
         artifactCount.getStyle()
                 .set("color", "#999999")
                 .set("font-size", "12px");
@@ -259,8 +291,22 @@ public class ExecutionView extends VerticalLayout implements HasUrlParameter<Str
 
         card.add(stepHeader, stepName, startedTime);
 
-        // Artifacts section
-        if (!step.artifacts().isEmpty()) {
+        // Artifacts are fetched once the card scrolls into view
+        VerticalLayout artifactsSection = new VerticalLayout();
+        artifactsSection.setPadding(false);
+        artifactsSection.setSpacing(true);
+        card.add(artifactsSection);
+        LazyLoad.onFirstVisible(card, () -> loadArtifacts(step.id(), artifactsSection, artifactCount, null, 0));
+
+        return card;
+    }
+
+    private void loadArtifacts(UUID stepId, VerticalLayout artifactsSection, Span artifactCount, Cursor after, int loaded) {
+        var page = fetchArtifactsUseCase.fetch(stepId, after, ARTIFACTS_PAGE_SIZE);
+        int total = loaded + page.items().size();
+        artifactCount.setText(total + (page.hasNext() ? "+" : "") + " artifacts");
+
+        if (after == null && !page.items().isEmpty()) {
             Div artifactsHeader = new Div();
             artifactsHeader.setText("Artifacts");
             artifactsHeader.getStyle()
@@ -270,17 +316,26 @@ public class ExecutionView extends VerticalLayout implements HasUrlParameter<Str
                     .set("margin-top", "12px")
                     .set("margin-bottom", "8px");
 
-            card.add(artifactsHeader);
+            artifactsSection.add(artifactsHeader);
+        }
 
-            for (Artifact artifact : step.artifacts()) {
-                card.add(createArtifactPreview(artifact));
-            }
+        for (Artifact artifact : page.items()) {
+            artifactsSection.add(createArtifactPreview(stepId, artifact));
         }
 
-        return card;
+        if (page.hasNext()) {
+            Button loadMoreButton = new Button("Load more artifacts");
+            loadMoreButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY, ButtonVariant.LUMO_SMALL);
+            loadMoreButton.getStyle().set("color", "#60a5fa");
+            loadMoreButton.addClickListener(e -> {
+                artifactsSection.remove(loadMoreButton);
+                loadArtifacts(stepId, artifactsSection, artifactCount, page.next(), total);
+            });
+            artifactsSection.add(loadMoreButton);
+        }
     }
 
-    private Component createArtifactPreview(Artifact artifact) {
+    private Component createArtifactPreview(UUID stepId, Artifact artifact) {
         VerticalLayout preview = new VerticalLayout();
         preview.setPadding(true);
         preview.setSpacing(true);
@@ -323,7 +378,7 @@ public class ExecutionView extends VerticalLayout implements HasUrlParameter<Str
         preview.add(artifactHeader);
 
         // Artifact content preview
-        Component contentPreview = createArtifactContent(artifact);
+        Component contentPreview = createArtifactContent(stepId, artifact);
         if (contentPreview != null) {
             preview.add(contentPreview);
         }
@@ -331,10 +386,10 @@ public class ExecutionView extends VerticalLayout implements HasUrlParameter<Str
         return preview;
     }
 
-    private Component createArtifactContent(Artifact artifact) {
+    private Component createArtifactContent(UUID stepId, Artifact artifact) {
         switch (artifact.type()) {
             case IMAGE:
-                Image img = new Image(artifact.content(), artifact.description());
+                Image img = new Image(artifact.thumbnailOrContent(), artifact.description());
                 img.setWidth("100%");
                 img.getStyle()
                         .set("max-height", "200px")
@@ -345,31 +400,68 @@ public class ExecutionView extends VerticalLayout implements HasUrlParameter<Str
                 return img;
 
             case LOG:
-                Pre logContent = new Pre(truncateText(artifact.content(), 200));
-                logContent.getStyle()
-                        .set("color", "#cccccc")
-                        .set("font-size", "11px")
-                        .set("margin", "0")
-                        .set("white-space", "pre-wrap")
-                        .set("word-wrap", "break-word");
-                return logContent;
+                return createTextContent(stepId, artifact, false);
 
             case JSON_DATA:
-                Pre jsonContent = new Pre(truncateText(artifact.content(), 200));
-                jsonContent.getStyle()
-                        .set("color", "#cccccc")
-                        .set("font-size", "11px")
-                        .set("margin", "0")
-                        .set("white-space", "pre-wrap")
-                        .set("word-wrap", "break-word")
-                        .set("font-family", "monospace");
-                return jsonContent;
+                return createTextContent(stepId, artifact, true);
 
             default:
                 return null;
         }
     }
 
+    // Starts with the beginning of the text that came with the row; the rest is read in chunks only when asked for
+    private Component createTextContent(UUID stepId, Artifact artifact, boolean monospace) {
+        String content = artifact.content() == null ? "" : artifact.content();
+        Pre text = new Pre(truncateText(content, TEXT_PREVIEW_LENGTH));
+        text.getStyle()
+                .set("color", "#cccccc")
+                .set("font-size", "11px")
+                .set("margin", "0")
+                .set("white-space", "pre-wrap")
+                .set("word-wrap", "break-word")
+                .set("max-height", "400px")
+                .set("overflow", "auto");
+        if (monospace) {
+            text.getStyle().set("font-family", "monospace");
+        }
+
+        if (!artifact.isTruncated() && content.length() <= TEXT_PREVIEW_LENGTH) {
+            return text;
+        }
+
+        StringBuilder shown = new StringBuilder(content.substring(0, Math.min(content.length(), TEXT_PREVIEW_LENGTH)));
+        HorizontalLayout actions = new HorizontalLayout();
+        actions.setSpacing(true);
+
+        Button showMoreButton = new Button("Show more");
+        showMoreButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY, ButtonVariant.LUMO_SMALL);
+        showMoreButton.getStyle().set("color", "#60a5fa");
+        showMoreButton.addClickListener(e -> {
+            var slice = readArtifactContentUseCase.readRange(stepId, artifact.id(), shown.length(), TEXT_CHUNK_LENGTH);
+            shown.append(slice.text());
+            text.setText(slice.hasMore() ? shown + "..." : shown.toString());
+            if (!slice.hasMore()) {
+                actions.setVisible(false);
+            }
+        });
+        actions.add(showMoreButton);
+
+        if (artifact.type() == Artifact.Type.LOG) {
+            Button showEndButton = new Button("Show last " + TAIL_LINES + " lines");
+            showEndButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY, ButtonVariant.LUMO_SMALL);
+            showEndButton.getStyle().set("color", "#60a5fa");
+            showEndButton.addClickListener(e -> {
+                var slice = readArtifactContentUseCase.readTail(stepId, artifact.id(), TAIL_LINES);
+                text.setText(slice.hasMore() ? "...\n" + slice.text() : slice.text());
+                actions.setVisible(false);
+            });
+            actions.add(showEndButton);
+        }
+
+        return new Div(text, actions);
+    }
+
     private Icon getStatusIcon(Step.Status status) {
         Icon icon;
         switch (status) {
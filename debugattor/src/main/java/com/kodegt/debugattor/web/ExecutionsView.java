@@ -3,6 +3,8 @@ package com.kodegt.debugattor.web;
 import com.kodegt.debugattor.application.input.DeleteExecutionUseCase;
 import com.kodegt.debugattor.application.input.FetchExecutionsUseCase;
 import com.kodegt.debugattor.domain.execution.Execution;
+import com.kodegt.debugattor.domain.execution.ExecutionSummary;
+import com.kodegt.debugattor.domain.pagination.Cursor;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
@@ -21,8 +23,12 @@ import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import org.springframework.data.domain.Pageable;
 
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Route("")
@@ -34,7 +40,9 @@ public class ExecutionsView extends VerticalLayout {
     private final FetchExecutionsUseCase fetchExecutionsUseCase;
     private final DeleteExecutionUseCase deleteExecutionUseCase;
     private final TextField searchField;
-    private final Grid<Execution> grid;
+    private final Grid<ExecutionSummary> grid;
+    // Keyset positions of the pages already served, keyed by the offset they start at
+    private final Map<Long, Cursor> cursorsByOffset = new HashMap<>();
 
     public ExecutionsView(FetchExecutionsUseCase fetchExecutionsUseCase,
                           DeleteExecutionUseCase deleteExecutionUseCase) {
@@ -87,7 +95,7 @@ public class ExecutionsView extends VerticalLayout {
 
         Button refreshButton = new Button("Refresh", new Icon(VaadinIcon.REFRESH));
         refreshButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
-        refreshButton.addClickListener(e -> grid.getDataProvider().refreshAll());
+        refreshButton.addClickListener(e -> refreshGrid());
         refreshButton.getStyle()
                 .set("color", "#999999");
 
@@ -98,11 +106,11 @@ public class ExecutionsView extends VerticalLayout {
 
     private TextField createSearchField() {
         TextField search = new TextField();
-        search.setPlaceholder("Search by ID");
+        search.setPlaceholder("Search by ID prefix");
         search.setPrefixComponent(VaadinIcon.SEARCH.create());
         search.setWidthFull();
         search.setValueChangeMode(ValueChangeMode.LAZY);
-        search.addValueChangeListener(e -> grid.getDataProvider().refreshAll());
+        search.addValueChangeListener(e -> refreshGrid());
 
         // Dark theme styling
         search.getStyle()
@@ -115,8 +123,8 @@ public class ExecutionsView extends VerticalLayout {
         return search;
     }
 
-    private Grid<Execution> createGrid() {
-        Grid<Execution> grid = new Grid<>();
+    private Grid<ExecutionSummary> createGrid() {
+        Grid<ExecutionSummary> grid = new Grid<>();
         grid.setSizeFull();
         grid.addThemeVariants(GridVariant.LUMO_NO_BORDER, GridVariant.LUMO_ROW_STRIPES);
 
@@ -142,7 +150,7 @@ public class ExecutionsView extends VerticalLayout {
         grid.addColumn(new ComponentRenderer<>(this::createStatusBadge))
                 .setHeader("Status")
                 .setSortable(true)
-                .setComparator(Execution::status)
+                .setComparator(ExecutionSummary::status)
                 .setAutoWidth(true)
                 .setFlexGrow(0);
 
@@ -151,7 +159,7 @@ public class ExecutionsView extends VerticalLayout {
                         execution.startedAt() != null ? execution.startedAt().format(TIME_FORMATTER) : "")
                 .setHeader("Started At")
                 .setSortable(true)
-                .setComparator(Execution::startedAt)
+                .setComparator(ExecutionSummary::startedAt)
                 .setAutoWidth(true)
                 .setFlexGrow(1);
 
@@ -160,12 +168,12 @@ public class ExecutionsView extends VerticalLayout {
                         execution.finishedAt() != null ? execution.finishedAt().format(TIME_FORMATTER) : "")
                 .setHeader("Finished At")
                 .setSortable(true)
-                .setComparator(Execution::finishedAt)
+                .setComparator(ExecutionSummary::finishedAt)
                 .setAutoWidth(true)
                 .setFlexGrow(1);
 
         // Duration column
-        grid.addColumn(Execution::duration)
+        grid.addColumn(ExecutionSummary::duration)
                 .setHeader("Duration")
                 .setAutoWidth(true)
                 .setFlexGrow(0);
@@ -177,8 +185,7 @@ public class ExecutionsView extends VerticalLayout {
                 .setFlexGrow(0);
 
         // Set data provider
-        grid.setItemsPageable(pageable ->
-                fetchExecutionsUseCase.fetch(searchField.getValue(), pageable));
+        grid.setItemsPageable(this::fetchPage);
 
         // Row click listener
         grid.addItemClickListener(e -> {
@@ -203,7 +210,27 @@ public class ExecutionsView extends VerticalLayout {
         return grid;
     }
 
-    private Component createStatusBadge(Execution execution) {
+    private List<ExecutionSummary> fetchPage(Pageable pageable) {
+        Cursor after = cursorsByOffset.get(pageable.getOffset());
+        boolean seekable = pageable.getSort().isUnsorted() && (pageable.getOffset() == 0 || after != null);
+        if (!seekable) {
+            // Jumps past the pages seen so far (or custom sorts) fall back to offset paging
+            return fetchExecutionsUseCase.fetchSummaries(searchField.getValue(), pageable);
+        }
+
+        var page = fetchExecutionsUseCase.fetchSummaries(searchField.getValue(), after, pageable.getPageSize());
+        if (page.hasNext()) {
+            cursorsByOffset.put(pageable.getOffset() + page.items().size(), page.next());
+        }
+        return page.items();
+    }
+
+    private void refreshGrid() {
+        cursorsByOffset.clear();
+        grid.getDataProvider().refreshAll();
+    }
+
+    private Component createStatusBadge(ExecutionSummary execution) {
         Span badge = new Span(formatStatus(execution.status()));
 
         String backgroundColor;
@@ -237,7 +264,7 @@ public class ExecutionsView extends VerticalLayout {
         return badge;
     }
 
-    private Component createActionButtons(Execution execution) {
+    private Component createActionButtons(ExecutionSummary execution) {
         HorizontalLayout actions = new HorizontalLayout();
         actions.setSpacing(true);
         actions.setPadding(false);
@@ -280,7 +307,7 @@ public class ExecutionsView extends VerticalLayout {
         dialog.addConfirmListener(event -> {
             try {
                 deleteExecutionUseCase.delete(executionId);
-                grid.getDataProvider().refreshAll();
+                refreshGrid();
             } catch (Exception e) {
                 // Show error notification
                 showErrorNotification("Failed to delete execution: " + e.getMessage());
@@ -316,7 +343,7 @@ public class ExecutionsView extends VerticalLayout {
         );
     }
 
-    private boolean isActionButtonClick(Grid.Column<Execution> column) {
+    private boolean isActionButtonClick(Grid.Column<ExecutionSummary> column) {
         return column != null && "Actions".equals(column.getHeaderText());
     }
 
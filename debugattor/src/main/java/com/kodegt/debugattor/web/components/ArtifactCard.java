@@ -141,7 +141,7 @@ public class ArtifactCard extends VerticalLayout {
             return createPlaceholder("No image content");
         }
 
-        Image img = new Image(artifact.content(), artifact.description());
+        Image img = new Image(fullSize ? artifact.previewOrContent() : artifact.thumbnailOrContent(), artifact.description());
         img.setWidth("100%");
 
         if (fullSize) {
@@ -0,0 +1,36 @@
+package com.kodegt.debugattor.web.components;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.dom.DomListenerRegistration;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs server-side code the first time a component scrolls into (or near) the viewport
+ */
+public final class LazyLoad {
+
+    private static final String VISIBLE_EVENT = "debugattor-visible";
+
+    private LazyLoad() {
+    }
+
+    public static void onFirstVisible(Component component, Runnable action) {
+        AtomicReference<DomListenerRegistration> registration = new AtomicReference<>();
+        registration.set(component.getElement().addEventListener(VISIBLE_EVENT, e -> {
+            registration.get().remove();
+            action.run();
+        }));
+
+        component.getElement().executeJs("""
+                const element = this;
+                const observer = new IntersectionObserver(entries => {
+                    if (entries.some(entry => entry.isIntersecting)) {
+                        observer.disconnect();
+                        element.dispatchEvent(new CustomEvent($0));
+                    }
+                }, { rootMargin: '200px' });
+                observer.observe(element);
+                """, VISIBLE_EVENT);
+    }
+}
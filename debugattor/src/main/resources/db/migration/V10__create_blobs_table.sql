@@ -0,0 +1,15 @@
+-- Content-addressed file objects, shared by every artifact whose bytes hash to the same digest.
+-- ref_count is the number of artifacts pointing at the blob; the object is removed when it drops to zero.
+CREATE TABLE blobs
+(
+    digest      TEXT PRIMARY KEY,
+    object_name TEXT                     NOT NULL,
+    ref_count   INTEGER                  NOT NULL DEFAULT 0,
+    created_at  TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_blobs_object_name ON blobs (object_name);
+
+ALTER TABLE artifacts ADD COLUMN blob_digest TEXT NULL REFERENCES blobs (digest);
+
+CREATE INDEX IF NOT EXISTS idx_artifacts_blob_digest ON artifacts (blob_digest);
@@ -0,0 +1,3 @@
+-- Large text bodies live in bucket storage; content then keeps only the beginning of the text
+ALTER TABLE artifacts ADD COLUMN content_ref TEXT NULL;
+ALTER TABLE artifacts ADD COLUMN content_size BIGINT NULL;
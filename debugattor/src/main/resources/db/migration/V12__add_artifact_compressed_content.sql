@@ -0,0 +1,2 @@
+-- Deflated full text of mid-sized LOG/JSON_DATA artifacts; content then keeps only the beginning of the text
+ALTER TABLE artifacts ADD COLUMN content_compressed BYTEA NULL;
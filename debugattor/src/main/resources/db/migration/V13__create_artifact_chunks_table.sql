@@ -0,0 +1,13 @@
+-- Text appended to LOG artifacts after creation. start_offset is the chunk's position, in characters, within the
+-- appended text; the compactor merges runs of small chunks into the first one, so offsets never move.
+CREATE TABLE artifact_chunks
+(
+    id           BIGSERIAL PRIMARY KEY,
+    artifact_id  UUID                     NOT NULL REFERENCES artifacts (id) ON DELETE CASCADE,
+    start_offset BIGINT                   NOT NULL,
+    length       INTEGER                  NOT NULL,
+    content      TEXT                     NOT NULL,
+    appended_at  TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_artifact_chunks_artifact_id_start_offset ON artifact_chunks (artifact_id, start_offset);
@@ -0,0 +1,2 @@
+-- Bumped by every write to an execution, its steps or its artifacts; exposed as the ETag of the execution.
+ALTER TABLE executions ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
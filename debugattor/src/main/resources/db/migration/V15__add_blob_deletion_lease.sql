@@ -0,0 +1,3 @@
+-- A drain claims rows by setting claimed_until and commits before calling bucket storage, so no lock is held
+-- across the network call. Rows whose lease ran out are claimed again; rows out of attempts stay as dead letters.
+ALTER TABLE blob_deletions ADD COLUMN claimed_until TIMESTAMP WITH TIME ZONE NULL;
@@ -0,0 +1,9 @@
+-- Set when a chunk is appended after another one, cleared by the compactor; the partial index keeps finding the
+-- flagged artifacts cheap however many chunks exist.
+ALTER TABLE artifacts ADD COLUMN needs_compaction BOOLEAN NOT NULL DEFAULT FALSE;
+
+UPDATE artifacts
+SET needs_compaction = TRUE
+WHERE id IN (SELECT artifact_id FROM artifact_chunks GROUP BY artifact_id HAVING count(*) > 1);
+
+CREATE INDEX IF NOT EXISTS idx_artifacts_needs_compaction ON artifacts (id) WHERE needs_compaction;
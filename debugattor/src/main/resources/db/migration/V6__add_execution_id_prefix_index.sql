@@ -0,0 +1,5 @@
+-- Supports prefix search on the textual form of the execution id (id::text LIKE 'abc%').
+-- Hidden from jOOQ's DDL parser, which does not understand operator classes.
+/* [jooq ignore start] */
+CREATE INDEX IF NOT EXISTS idx_executions_id_text ON executions ((id::text) text_pattern_ops);
+/* [jooq ignore stop] */
@@ -0,0 +1,8 @@
+-- Steps of an execution, in timeline order (MULTISET subqueries, keyset paging, cascades from executions)
+CREATE INDEX IF NOT EXISTS idx_steps_execution_id_registered_at ON steps (execution_id, registered_at, id);
+
+-- Artifacts of a step, in timeline order (MULTISET subqueries, keyset paging, cascades from steps)
+CREATE INDEX IF NOT EXISTS idx_artifacts_step_id_logged_at ON artifacts (step_id, logged_at, id);
+
+-- Execution listing, newest first
+CREATE INDEX IF NOT EXISTS idx_executions_started_at ON executions (started_at DESC, id DESC);
@@ -0,0 +1,9 @@
+-- Outbox of bucket objects to remove. Rows are written in the same transaction that deletes
+-- their artifacts and drained in the background, so no object is orphaned by a crash in between.
+CREATE TABLE blob_deletions
+(
+    id          BIGSERIAL PRIMARY KEY,
+    object_name TEXT                     NOT NULL,
+    enqueued_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    attempts    INTEGER                  NOT NULL DEFAULT 0
+);
@@ -0,0 +1,2 @@
+ALTER TABLE artifacts ADD COLUMN thumbnail_url TEXT NULL;
+ALTER TABLE artifacts ADD COLUMN preview_url TEXT NULL;
@@ -0,0 +1,101 @@
+package com.kodegt.debugattor.infrastructure.secondary.persistence;
+
+import org.jooq.DSLContext;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.Insert;
+import org.jooq.Query;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the indexes the hot queries rely on. The statements are the ones {@link JOOQRepository} actually runs,
+ * captured while calling it, and sequential scans are disabled for the explained statement, so the plan only
+ * falls back to one when no usable index exists.
+ */
+@SpringBootTest
+class QueryPlanTests {
+
+    @Autowired
+    private DSLContext context;
+
+    @Autowired
+    private ContentCodec contentCodec;
+
+    @Test
+    void stepsOfExecutionUseExecutionIndex() {
+        var queries = queriesOf(repository -> repository.findByExecutionId(UUID.randomUUID(), null, 50));
+
+        assertThat(explain(queries.getFirst())).contains("idx_steps_execution_id_registered_at");
+    }
+
+    @Test
+    void artifactsOfStepUseStepIndex() {
+        var queries = queriesOf(repository -> repository.findByStepId(UUID.randomUUID(), null, 50));
+
+        assertThat(explain(queries.getFirst())).contains("idx_artifacts_step_id_logged_at");
+    }
+
+    @Test
+    void executionDeletionUsesBothForeignKeyIndexes() {
+        var queries = queriesOf(repository -> repository.deleteById(UUID.randomUUID()));
+        // the outbox insert walks every artifact of the execution through steps
+        var outboxInsert = queries.stream()
+                .filter(query -> query instanceof Insert<?> && context.render(query).contains("artifacts"))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(explain(outboxInsert))
+                .contains("idx_steps_execution_id_registered_at")
+                .contains("idx_artifacts_step_id_logged_at");
+    }
+
+    @Test
+    void executionListingUsesStartedAtIndex() {
+        var queries = queriesOf(repository -> repository.findVersions(null, 10));
+
+        assertThat(explain(queries.getFirst())).contains("idx_executions_started_at");
+    }
+
+    @Test
+    void executionIdPrefixSearchUsesTextIndex() {
+        var queries = queriesOf(repository -> repository.findSummaries("3f58", null, 10));
+
+        assertThat(explain(queries.getFirst())).contains("idx_executions_id_text");
+    }
+
+    private List<Query> queriesOf(Consumer<JOOQRepository> call) {
+        var captured = new ArrayList<Query>();
+        var recording = context.configuration()
+                .derive(new DefaultExecuteListenerProvider(new ExecuteListener() {
+                    @Override
+                    public void executeStart(ExecuteContext ctx) {
+                        if (ctx.query() != null) {
+                            captured.add(ctx.query());
+                        }
+                    }
+                }))
+                .dsl();
+        call.accept(new JOOQRepository(recording, contentCodec));
+        assertThat(captured).isNotEmpty();
+        return captured;
+    }
+
+    private String explain(Query query) {
+        return context.transactionResult(configuration -> {
+            var tx = DSL.using(configuration);
+            tx.execute("set local enable_seqscan = off");
+            return String.join("\n", tx.fetch("explain " + tx.renderInlined(query)).getValues(0, String.class));
+        });
+    }
+}